@@ -1,9 +1,12 @@
 package com.weatherforecast.authservice;
 
+import com.weatherforecast.common.blocking.BlockingDetection;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(BlockingDetection.class)
 public class AuthServiceApplication {
 
   public static void main(String[] args) {
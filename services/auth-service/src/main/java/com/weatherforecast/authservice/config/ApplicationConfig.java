@@ -1,22 +1,32 @@
 package com.weatherforecast.authservice.config;
 
+import com.weatherforecast.common.grpc.GrpcServerExecution;
 import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
 import io.grpc.protobuf.services.ProtoReflectionService;
 import org.lognet.springboot.grpc.GRpcServerBuilderConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+/**
+ * Auth handlers block on JDBC and bcrypt, so {@code grpc.execution} runs them on a {@code FIXED}
+ * pool sized to the database connection pool: calls beyond that would only wait for a connection,
+ * and queueing them in the executor keeps the wait visible in the {@code grpc.server} metrics.
+ */
 @Configuration
+@Import(GrpcServerExecution.class)
 @EnableJpaAuditing
 public class ApplicationConfig {
   @Bean
-  public GRpcServerBuilderConfigurer customGrpcServerBuilderConfigurer() {
+  public GRpcServerBuilderConfigurer customGrpcServerBuilderConfigurer(
+      GrpcServerExecution serverExecution) {
     return new GRpcServerBuilderConfigurer() {
       @Override
       public void configure(io.grpc.ServerBuilder<?> serverBuilder) {
         if (serverBuilder instanceof NettyServerBuilder) {
           ((NettyServerBuilder) serverBuilder).addService(ProtoReflectionService.newInstance());
+          serverExecution.apply((NettyServerBuilder) serverBuilder);
         }
       }
     };
@@ -1,6 +1,9 @@
 package com.weatherforecast.authservice.grpc;
 
+import com.google.protobuf.ByteString;
 import com.weatherforecast.authservice.model.AuthToken;
+import com.weatherforecast.authservice.model.TokenVerificationKey;
+import java.util.List;
 
 /**
  * Adapter class that provides conversion methods between domain objects and gRPC protocol objects.
@@ -52,4 +55,23 @@ public class Adapter {
   public static UpdateResponse toGrpcUpdateResponse(boolean success) {
     return UpdateResponse.newBuilder().setSuccess(success).build();
   }
+
+  /**
+   * Converts the verification keys to a gRPC VerificationKeysResponse message.
+   *
+   * @param keys The keys that verify token signatures
+   * @return A gRPC VerificationKeysResponse object listing every key
+   */
+  public static VerificationKeysResponse toGrpcVerificationKeysResponse(
+      List<TokenVerificationKey> keys) {
+    var response = VerificationKeysResponse.newBuilder();
+    for (var key : keys) {
+      response.addKeys(
+          VerificationKey.newBuilder()
+              .setKeyId(key.getKeyId())
+              .setAlgorithm(key.getAlgorithm())
+              .setKey(ByteString.copyFrom(key.getKey())));
+    }
+    return response.build();
+  }
 }
@@ -135,18 +135,33 @@ public class AuthServiceGrpcImpl extends AuthServiceGrpc.AuthServiceImplBase {
     String token = request.getToken();
 
     try {
-      jwtService.validateToken(token);
+      boolean valid = jwtService.validateToken(token);
       TokenValidationResponse response =
-          TokenValidationResponse.newBuilder().setValid(true).build();
+          TokenValidationResponse.newBuilder().setValid(valid).build();
       responseObserver.onNext(response);
-      log.info("Token validation successful for token {}", token);
+      log.debug("Token validation result: {}", valid);
       responseObserver.onCompleted();
     } catch (Exception e) {
-      log.error("Token validation failed for token {}: {}", token, e.getMessage());
+      log.warn("Token validation failed: {}", e.getMessage());
       TokenValidationResponse response =
           TokenValidationResponse.newBuilder().setValid(false).build();
       responseObserver.onNext(response);
       responseObserver.onCompleted();
     }
   }
+
+  @Override
+  public void getVerificationKeys(
+      VerificationKeysRequest request, StreamObserver<VerificationKeysResponse> responseObserver) {
+    try {
+      responseObserver.onNext(
+          Adapter.toGrpcVerificationKeysResponse(jwtService.getVerificationKeys()));
+      log.debug("Verification keys sent");
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      log.error("Error while loading verification keys: {}", e.getMessage());
+      responseObserver.onError(
+          Status.INTERNAL.withDescription("Something went wrong").asRuntimeException());
+    }
+  }
 }
@@ -0,0 +1,12 @@
+package com.weatherforecast.authservice.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TokenVerificationKey {
+  private String keyId;
+  private String algorithm;
+  private byte[] key;
+}
@@ -2,6 +2,8 @@ package com.weatherforecast.authservice.service;
 
 import com.weatherforecast.authservice.entity.User;
 import com.weatherforecast.authservice.model.AuthToken;
+import com.weatherforecast.authservice.model.TokenVerificationKey;
+import java.util.List;
 
 public interface JwtService {
   /**
@@ -19,4 +21,12 @@ public interface JwtService {
    * @return true if the token is valid, false otherwise
    */
   public boolean validateToken(String token);
+
+  /**
+   * Returns the keys that verify the signatures of issued tokens, so other services can verify
+   * tokens locally. Every token names its key in the {@code kid} header.
+   *
+   * @return the current verification keys
+   */
+  public List<TokenVerificationKey> getVerificationKeys();
 }
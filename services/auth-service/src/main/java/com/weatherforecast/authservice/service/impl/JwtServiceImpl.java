@@ -2,25 +2,71 @@ package com.weatherforecast.authservice.service.impl;
 
 import com.weatherforecast.authservice.entity.User;
 import com.weatherforecast.authservice.model.AuthToken;
+import com.weatherforecast.authservice.model.TokenVerificationKey;
 import com.weatherforecast.authservice.service.JwtService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Issues RS256-signed tokens. Only the public half of the signing key is published for local
+ * verification, so a leaked verification key cannot be used to mint tokens.
+ */
 @Service
 public class JwtServiceImpl implements JwtService {
-  @Value("${app.jwt.secret-key}")
-  private String secretKey;
+  private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.RS256;
+  private final int tokenValidityInSeconds;
+  private final PrivateKey signingKey;
+  private final PublicKey verificationKey;
+  private final String keyId;
+  private final JwtParser parser;
 
-  @Value("${app.jwt.token-validity-in-seconds}")
-  private int tokenValidityInSeconds;
+  /**
+   * Creates the service from the signing key.
+   *
+   * @param privateKey the base64-encoded PKCS#8 RSA private key that signs tokens
+   * @param tokenValidityInSeconds how long issued tokens are valid
+   */
+  public JwtServiceImpl(
+      @Value("${app.jwt.private-key}") String privateKey,
+      @Value("${app.jwt.token-validity-in-seconds}") int tokenValidityInSeconds) {
+    this.tokenValidityInSeconds = tokenValidityInSeconds;
+    try {
+      KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+      this.signingKey =
+          keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(privateKey)));
+      if (!(signingKey instanceof RSAPrivateCrtKey)) {
+        throw new IllegalArgumentException("The JWT private key must be an RSA CRT key");
+      }
+      RSAPrivateCrtKey crtKey = (RSAPrivateCrtKey) signingKey;
+      this.verificationKey =
+          keyFactory.generatePublic(
+              new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(verificationKey.getEncoded());
+      this.keyId = Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("The JWT private key is not a valid RSA key", e);
+    }
+    this.parser = Jwts.parserBuilder().setSigningKey(verificationKey).build();
+  }
 
   @Override
   public AuthToken generateToken(User user) {
@@ -34,25 +80,31 @@ public class JwtServiceImpl implements JwtService {
 
   private String createToken(Map<String, Object> claims, String subject) {
     return Jwts.builder()
+        .setHeaderParam(JwsHeader.KEY_ID, keyId)
         .setSubject(subject)
         .setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + 1000 * tokenValidityInSeconds))
-        .signWith(getSigningKey())
+        .setExpiration(new Date(System.currentTimeMillis() + 1000L * tokenValidityInSeconds))
+        .signWith(signingKey, ALGORITHM)
         .compact();
   }
 
   @Override
   public boolean validateToken(String token) {
     try {
-      Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
+      parser.parseClaimsJws(token);
       return true;
     } catch (Exception e) {
       return false;
     }
   }
 
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    return Keys.hmacShaKeyFor(keyBytes);
+  @Override
+  public List<TokenVerificationKey> getVerificationKeys() {
+    return List.of(
+        TokenVerificationKey.builder()
+            .keyId(keyId)
+            .algorithm(ALGORITHM.getValue())
+            .key(verificationKey.getEncoded())
+            .build());
   }
 }
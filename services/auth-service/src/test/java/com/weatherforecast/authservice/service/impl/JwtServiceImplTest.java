@@ -4,29 +4,39 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.weatherforecast.authservice.entity.User;
 import com.weatherforecast.authservice.model.AuthToken;
+import com.weatherforecast.authservice.model.TokenVerificationKey;
 import com.weatherforecast.authservice.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
 import java.time.LocalDateTime;
-import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class JwtServiceImplTest {
-  private String secretKey =
-      "ThisIsALongerSecretKeyThatIsAtLeast32BytesInLengthAndThereforeMeetsTheSpecificationRequirementsForHmacSha256";
+  private KeyPair keyPair;
   private JwtService jwtService;
 
   @BeforeEach
-  public void setup() {
-    jwtService = new JwtServiceImpl();
-    ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
-    ReflectionTestUtils.setField(jwtService, "tokenValidityInSeconds", 3600);
+  public void setup() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    keyPair = generator.generateKeyPair();
+    jwtService =
+        new JwtServiceImpl(
+            Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()), 3600);
   }
 
   @Test
@@ -45,22 +55,54 @@ public class JwtServiceImplTest {
 
   @Test
   public void testGenerateToken_ContainsCorrectClaims() {
-    User user = createSampleUser();
-    AuthToken token = jwtService.generateToken(user);
+    AuthToken token = jwtService.generateToken(createSampleUser());
 
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    SecretKey verificationKey = Keys.hmacShaKeyFor(keyBytes);
-
-    String tokenString = token.getToken();
-    String username =
+    Jws<Claims> jws =
         Jwts.parserBuilder()
-            .setSigningKey(verificationKey)
+            .setSigningKey(keyPair.getPublic())
             .build()
-            .parseClaimsJwt(tokenString)
-            .getBody()
-            .getSubject();
+            .parseClaimsJws(token.getToken());
+
+    assertEquals("RS256", jws.getHeader().getAlgorithm());
+    assertEquals("testuser", jws.getBody().getSubject());
+  }
+
+  @Test
+  public void testValidateToken_RejectsForgedTokens() {
+    AuthToken token = jwtService.generateToken(createSampleUser());
+    String forged =
+        Jwts.builder()
+            .setSubject("admin")
+            .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+            .compact();
+
+    assertTrue(jwtService.validateToken(token.getToken()));
+    assertFalse(jwtService.validateToken(forged));
+  }
+
+  @Test
+  public void testGetVerificationKeys_PublishesOnlyThePublicKey() throws Exception {
+    AuthToken token = jwtService.generateToken(createSampleUser());
+    List<TokenVerificationKey> keys = jwtService.getVerificationKeys();
+
+    assertEquals(1, keys.size());
+    TokenVerificationKey key = keys.get(0);
+    assertEquals("RS256", key.getAlgorithm());
+    assertArrayEquals(keyPair.getPublic().getEncoded(), key.getKey());
+
+    PublicKey publicKey =
+        KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(key.getKey()));
+    Jws<Claims> jws =
+        Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token.getToken());
+    assertEquals(key.getKeyId(), jws.getHeader().getKeyId());
+    assertEquals("testuser", jws.getBody().getSubject());
+  }
+
+  @Test
+  public void testConstructor_RejectsKeysThatAreNotRsaPrivateKeys() {
+    String secret = Base64.getEncoder().encodeToString(new byte[64]);
 
-    assertEquals("testuser", username);
+    assertThrows(IllegalArgumentException.class, () -> new JwtServiceImpl(secret, 3600));
   }
 
   private User createSampleUser() {
@@ -0,0 +1,92 @@
+package com.weatherforecast.common.blocking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Detects blocking calls made on threads that must never block: gRPC's Netty event loops, which
+ * also run server handlers under the {@code DIRECT} executor, the Reactor Netty event loops serving
+ * HTTP and used by HTTP clients, Lettuce's Redis event loops, and Reactor's non-blocking
+ * schedulers. A blocking call on one of these threads stalls every call sharing it. Services
+ * {@code @Import} this class; prefixes of threads a service does not run never match.
+ *
+ * <p>Off by default. Set {@code blocking-detection.enabled} to report every blocking call as a
+ * {@code blocking.calls} metric tagged with the operation, plus an error log with the stack.
+ * Blocking calls also fail with a {@link BlockingOperationError} unless {@code
+ * blocking-detection.fail-on-blocking} is false, which suits staging. The JVM must run with
+ * {@code -XX:+AllowRedefinitionToAddDeleteMethods}; the {@code blocking-detection} Maven profile
+ * sets this for the test suite.
+ */
+@Slf4j
+@Component
+public class BlockingDetection {
+  private static final String METRIC_NAME = "blocking.calls";
+  private static final List<String> NON_BLOCKING_THREAD_PREFIXES =
+      List.of(
+          "grpc-server-boss-",
+          "grpc-server-worker-",
+          "grpc-nio-",
+          "reactor-http-nio-",
+          "reactor-http-epoll-",
+          "lettuce-");
+  private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+  public BlockingDetection(
+      @Value("${blocking-detection.enabled:false}") boolean enabled,
+      @Value("${blocking-detection.fail-on-blocking:true}") boolean failOnBlocking,
+      MeterRegistry meterRegistry) {
+    if (enabled) {
+      install(meterRegistry, failOnBlocking);
+    }
+  }
+
+  /**
+   * Installs blocking detection for the rest of the JVM's lifetime. Later calls are ignored.
+   *
+   * @param meterRegistry the registry blocking calls are counted in
+   * @param failOnBlocking whether blocking calls should also throw
+   */
+  public static void install(MeterRegistry meterRegistry, boolean failOnBlocking) {
+    if (!INSTALLED.compareAndSet(false, true)) {
+      return;
+    }
+    log.warn("Blocking detection enabled, fail on blocking: {}", failOnBlocking);
+    BlockHound.install(
+        builder ->
+            builder
+                .nonBlockingThreadPredicate(
+                    current -> current.or(BlockingDetection::isEventLoopThread))
+                .allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes")
+                .blockingMethodCallback(method -> report(meterRegistry, method, failOnBlocking)));
+  }
+
+  private static boolean isEventLoopThread(Thread thread) {
+    String name = thread.getName();
+    return NON_BLOCKING_THREAD_PREFIXES.stream().anyMatch(name::startsWith);
+  }
+
+  private static void report(
+      MeterRegistry meterRegistry, BlockingMethod method, boolean failOnBlocking) {
+    Counter.builder(METRIC_NAME)
+        .tag("operation", method.getClassName() + "." + method.getName())
+        .register(meterRegistry)
+        .increment();
+    BlockingOperationError error = new BlockingOperationError(method);
+    log.error(
+        "Blocking call {} on non-blocking thread {}",
+        method,
+        Thread.currentThread().getName(),
+        error);
+    if (failOnBlocking) {
+      throw error;
+    }
+  }
+}
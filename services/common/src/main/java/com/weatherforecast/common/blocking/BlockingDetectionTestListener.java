@@ -0,0 +1,21 @@
+package com.weatherforecast.common.blocking;
+
+import io.micrometer.core.instrument.Metrics;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Installs {@link BlockingDetection} before any test runs when {@code blocking-detection.enabled}
+ * is set, so unit tests that never start a Spring context are covered too. A blocking call on a
+ * non-blocking thread then fails the test that made it. Each service registers it through {@code
+ * META-INF/services} in its test resources.
+ */
+public class BlockingDetectionTestListener implements TestExecutionListener {
+
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    if (Boolean.getBoolean("blocking-detection.enabled")) {
+      BlockingDetection.install(Metrics.globalRegistry, true);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.weatherforecast.common.grpc;
+
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the calls handed to a pool executor. gRPC asks for each call's executor on the transport
+ * thread, before any of its work is queued: while fewer than {@code maxCalls} calls are in flight
+ * the call gets the pool, and otherwise it stays on the transport thread, where the interceptor
+ * closes it with {@code RESOURCE_EXHAUSTED} before a handler runs. Each admitted call has at most
+ * one task in the pool at a time, so the work waiting in the pool stays bounded by the calls
+ * admitted. A call stays in flight until it completes or is cancelled, which for a stream is as
+ * long as it is open.
+ */
+class CallAdmission implements ServerCallExecutorSupplier, ServerInterceptor {
+  private final Executor executor;
+  private final int maxCalls;
+  private final Counter rejections;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Set<ServerCall<?, ?>> rejected = ConcurrentHashMap.newKeySet();
+
+  CallAdmission(Executor executor, int maxCalls, Counter rejections) {
+    this.executor = executor;
+    this.maxCalls = maxCalls;
+    this.rejections = rejections;
+  }
+
+  @Override
+  public <ReqT, RespT> Executor getExecutor(ServerCall<ReqT, RespT> call, Metadata headers) {
+    if (inFlight.getAndUpdate(calls -> calls < maxCalls ? calls + 1 : calls) < maxCalls) {
+      return executor;
+    }
+    rejected.add(call);
+    return null;
+  }
+
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    if (rejected.remove(call)) {
+      rejections.increment();
+      call.close(
+          Status.RESOURCE_EXHAUSTED.withDescription("Server is at capacity, retry later"),
+          new Metadata());
+      return new ServerCall.Listener<>() {};
+    }
+
+    ServerCall.Listener<ReqT> listener;
+    try {
+      listener = next.startCall(call, headers);
+    } catch (RuntimeException e) {
+      inFlight.decrementAndGet();
+      throw e;
+    }
+    return new SimpleForwardingServerCallListener<>(listener) {
+      @Override
+      public void onComplete() {
+        try {
+          super.onComplete();
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      }
+
+      @Override
+      public void onCancel() {
+        try {
+          super.onCancel();
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      }
+    };
+  }
+
+  /** Returns the number of admitted calls that have not finished yet. */
+  int inFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,151 @@
+package com.weatherforecast.common.grpc;
+
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the threads a service's gRPC server runs on. The application executor is chosen by
+ * configuration: {@code DIRECT} runs handlers on the Netty event loop, which suits handlers that
+ * only assemble a reactive pipeline, while {@code FIXED} and {@code CACHED} hand each call to a
+ * thread pool for handlers that block. Pool executors export their queue depth and activity under
+ * the {@code grpc.server} executor metrics. Services add it with {@code @Import} and pass it to
+ * their {@code GRpcServerBuilderConfigurer}.
+ *
+ * <p>The {@code FIXED} pool queues at most {@code grpc.execution.queue-capacity} calls. Calls
+ * beyond its threads and queue are rejected with {@code RESOURCE_EXHAUSTED} on the transport
+ * thread, before any of their work is queued, and counted in {@code grpc.server.rejected}, so an
+ * overloaded server pushes back on callers instead of queueing without limit.
+ *
+ * <p>Transport settings such as keepalive, flow-control windows and concurrent-stream limits are
+ * bound by the gRPC starter from the {@code grpc.netty-server} properties.
+ */
+@Slf4j
+@Component
+public class GrpcServerExecution {
+  public enum ExecutorType {
+    DIRECT,
+    FIXED,
+    CACHED
+  }
+
+  private static final String METRIC_NAME = "grpc.server";
+  private final ExecutorType executorType;
+  private final ThreadPoolExecutor executor;
+  private final CallAdmission admission;
+  private final EventLoopGroup bossEventLoopGroup;
+  private final EventLoopGroup workerEventLoopGroup;
+
+  public GrpcServerExecution(
+      @Value("${grpc.execution.executor:DIRECT}") ExecutorType executorType,
+      @Value("${grpc.execution.threads:0}") int threads,
+      @Value("${grpc.execution.queue-capacity:100}") int queueCapacity,
+      @Value("${grpc.execution.boss-event-loop-threads:1}") int bossEventLoopThreads,
+      @Value("${grpc.execution.worker-event-loop-threads:0}") int workerEventLoopThreads,
+      MeterRegistry meterRegistry) {
+    if (queueCapacity < 0) {
+      throw new IllegalArgumentException("The gRPC executor queue capacity must not be negative");
+    }
+    this.executorType = executorType;
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor = createExecutor(executorType, poolSize, queueCapacity);
+    this.admission =
+        executorType == ExecutorType.FIXED
+            ? new CallAdmission(
+                executor,
+                poolSize + queueCapacity,
+                Counter.builder(METRIC_NAME + ".rejected").register(meterRegistry))
+            : null;
+    this.bossEventLoopGroup =
+        new NioEventLoopGroup(
+            bossEventLoopThreads, new CustomizableThreadFactory("grpc-server-boss-"));
+    this.workerEventLoopGroup =
+        new NioEventLoopGroup(
+            workerEventLoopThreads, new CustomizableThreadFactory("grpc-server-worker-"));
+
+    if (executor != null) {
+      new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+    log.info(
+        "gRPC server using {} executor with {} worker event loop threads",
+        executorType,
+        workerEventLoopThreads == 0 ? "default" : workerEventLoopThreads);
+  }
+
+  /**
+   * Applies the configured event loops and application executor to the server builder.
+   *
+   * @param serverBuilder the Netty server builder being configured
+   */
+  public void apply(NettyServerBuilder serverBuilder) {
+    serverBuilder
+        .bossEventLoopGroup(bossEventLoopGroup)
+        .workerEventLoopGroup(workerEventLoopGroup)
+        .channelType(NioServerSocketChannel.class);
+
+    if (executor == null) {
+      serverBuilder.directExecutor();
+    } else if (admission == null) {
+      serverBuilder.executor(executor);
+    } else {
+      // The default executor runs the method lookup, which is where the call executor is chosen;
+      // keeping it direct lets admission decide on the transport thread.
+      serverBuilder.directExecutor().callExecutor(admission).intercept(admission);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    log.info("Shutting down gRPC server {} executor and event loops", executorType);
+    if (executor != null) {
+      executor.shutdown();
+    }
+    bossEventLoopGroup.shutdownGracefully();
+    workerEventLoopGroup.shutdownGracefully();
+  }
+
+  /**
+   * Pool size and queue capacity only apply to {@code FIXED}; {@code CACHED} mirrors gRPC's default
+   * executor.
+   */
+  private static ThreadPoolExecutor createExecutor(
+      ExecutorType executorType, int poolSize, int queueCapacity) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("grpc-server-");
+    switch (executorType) {
+      case FIXED:
+        return new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            // Admission keeps the calls waiting within queueCapacity; the queue itself has room
+            // for every admitted call so a task is never rejected while a thread is returning.
+            new ArrayBlockingQueue<>(poolSize + queueCapacity),
+            threadFactory);
+      case CACHED:
+        return new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            threadFactory);
+      default:
+        return null;
+    }
+  }
+}
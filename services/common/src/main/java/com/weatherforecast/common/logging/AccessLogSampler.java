@@ -0,0 +1,50 @@
+package com.weatherforecast.common.logging;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which requests get an access log line. Failed and slow requests are always logged and
+ * the rest at the configured rate, so the log keeps the requests worth looking at while its cost
+ * stays flat as traffic grows. The decision is made before the line is formatted.
+ */
+@Component
+public class AccessLogSampler {
+  private final double sampleRate;
+  private final long slowThresholdNanos;
+  private final DoubleSupplier random;
+
+  @Autowired
+  public AccessLogSampler(
+      @Value("${access-log.sample-rate:1.0}") double sampleRate,
+      @Value("${access-log.slow-threshold:1s}") Duration slowThreshold) {
+    this(sampleRate, slowThreshold, () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  AccessLogSampler(double sampleRate, Duration slowThreshold, DoubleSupplier random) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("The access log sample rate must be between 0 and 1");
+    }
+    this.sampleRate = sampleRate;
+    this.slowThresholdNanos = slowThreshold.toNanos();
+    this.random = random;
+  }
+
+  /**
+   * Returns whether a finished request should be logged.
+   *
+   * @param failed whether the request failed
+   * @param durationNanos how long the request took
+   * @return true if the request is failed, slow or sampled
+   */
+  public boolean shouldLog(boolean failed, long durationNanos) {
+    if (failed || durationNanos >= slowThresholdNanos) {
+      return true;
+    }
+    return sampleRate > 0 && random.getAsDouble() < sampleRate;
+  }
+}
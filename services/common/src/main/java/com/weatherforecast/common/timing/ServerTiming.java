@@ -0,0 +1,144 @@
+package com.weatherforecast.common.timing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Records how long each stage of a request took, in the syntax of the HTTP {@code Server-Timing}
+ * header. A recorder is created per request, by the gateway's {@code ServerTimingFilter} or for
+ * each gRPC call by weather-service's {@code ServerTimingInterceptor}, and carried through the
+ * Reactor context; stages that run without one, such as batch lookups or stream refreshes, are not
+ * recorded. weather-service returns its stages in a gRPC trailer, which the gateway appends as
+ * they are.
+ */
+public final class ServerTiming {
+  private static final Object CONTEXT_KEY = ServerTiming.class;
+  private final List<String> entries = new ArrayList<>();
+
+  /**
+   * Returns a context modifier that makes stages record into the given recorder.
+   *
+   * @param timing the recorder of the current request
+   * @return a function to pass to {@link Mono#contextWrite(Function)}
+   */
+  public static Function<Context, Context> recordingTo(ServerTiming timing) {
+    return context -> context.put(CONTEXT_KEY, timing);
+  }
+
+  /**
+   * Returns the recorder in the context, if any.
+   *
+   * @param context the subscriber context
+   * @return the recorder, or null when the request is not being timed
+   */
+  public static ServerTiming current(ContextView context) {
+    return context.getOrDefault(CONTEXT_KEY, null);
+  }
+
+  /**
+   * Times a stage from subscription until it succeeds or fails.
+   *
+   * @param name the metric name, such as {@code grpc}
+   * @param source the stage
+   * @return the same stage, recording its duration
+   */
+  public static <T> Mono<T> time(String name, Mono<T> source) {
+    return timed(name, source, false);
+  }
+
+  /**
+   * Times a cache lookup, described as a {@code hit} when it emits a value and a {@code miss} when
+   * it completes empty.
+   *
+   * @param name the metric name, such as {@code redis}
+   * @param lookup the cache lookup
+   * @return the same lookup, recording its duration and outcome
+   */
+  public static <T> Mono<T> timeLookup(String name, Mono<T> lookup) {
+    return timed(name, lookup, true);
+  }
+
+  private static <T> Mono<T> timed(String name, Mono<T> source, boolean lookup) {
+    return Mono.deferContextual(
+        context -> {
+          ServerTiming timing = current(context);
+          if (timing == null) {
+            return source;
+          }
+          long startNanos = System.nanoTime();
+          return source
+              .doOnSuccess(
+                  value ->
+                      timing.record(
+                          name,
+                          Duration.ofNanos(System.nanoTime() - startNanos),
+                          lookup ? (value != null ? "hit" : "miss") : null))
+              .doOnError(
+                  error ->
+                      timing.record(
+                          name, Duration.ofNanos(System.nanoTime() - startNanos), "error"));
+        });
+  }
+
+  /**
+   * Records the outcome of a step that takes no measurable time, such as a cache hit.
+   *
+   * @param name the metric name, such as {@code cache}
+   * @param description the outcome, such as {@code hit}
+   * @return a Mono completing once the outcome is recorded
+   */
+  public static Mono<Void> describe(String name, String description) {
+    return Mono.deferContextual(
+        context -> {
+          ServerTiming timing = current(context);
+          if (timing != null) {
+            timing.record(name, null, description);
+          }
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Records a stage.
+   *
+   * @param name the metric name
+   * @param duration how long the stage took, or null
+   * @param description the outcome of the stage, or null
+   */
+  public synchronized void record(String name, Duration duration, String description) {
+    StringBuilder entry = new StringBuilder(name);
+    if (description != null) {
+      entry.append(";desc=\"").append(description).append('"');
+    }
+    if (duration != null) {
+      entry.append(String.format(Locale.ROOT, ";dur=%.1f", duration.toNanos() / 1e6));
+    }
+    entries.add(entry.toString());
+  }
+
+  /**
+   * Appends stages that were already formatted, such as those reported by a backend.
+   *
+   * @param headerValue a {@code Server-Timing} header value
+   */
+  public synchronized void append(String headerValue) {
+    if (headerValue != null && !headerValue.isBlank()) {
+      entries.add(headerValue);
+    }
+  }
+
+  /**
+   * Returns the recorded stages in the order they finished.
+   *
+   * @return the {@code Server-Timing} header value, empty when nothing was recorded
+   */
+  public synchronized String toHeaderValue() {
+    return String.join(", ", entries);
+  }
+}
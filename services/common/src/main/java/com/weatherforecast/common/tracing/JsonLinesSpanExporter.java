@@ -0,0 +1,112 @@
+package com.weatherforecast.common.tracing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line, so traces can be analyzed
+ * offline without a tracing backend. Each line holds the trace, span and parent ids, the span name
+ * and kind, its start and end in epoch nanoseconds, its status and its attributes. Lines from
+ * every service share trace ids, so concatenating their files rebuilds whole traces.
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+  private final String serviceName;
+  private final ObjectMapper objectMapper;
+  private final OutputStream out;
+  private boolean shutdown;
+
+  public JsonLinesSpanExporter(Path path, String serviceName, ObjectMapper objectMapper)
+      throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    this.serviceName = serviceName;
+    this.objectMapper = objectMapper;
+    this.out =
+        new BufferedOutputStream(
+            Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    log.info("Exporting spans to {}", path.toAbsolutePath());
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+    if (shutdown) {
+      return CompletableResultCode.ofFailure();
+    }
+    try {
+      for (SpanData span : spans) {
+        writeSpan(span);
+      }
+      out.flush();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      log.warn("Could not export {} spans: {}", spans.size(), e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  private void writeSpan(SpanData span) throws IOException {
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+      json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      json.writeStartObject();
+      json.writeStringField("service", serviceName);
+      json.writeStringField("traceId", span.getTraceId());
+      json.writeStringField("spanId", span.getSpanId());
+      if (SpanId.isValid(span.getParentSpanId())) {
+        json.writeStringField("parentSpanId", span.getParentSpanId());
+      }
+      json.writeStringField("name", span.getName());
+      json.writeStringField("kind", span.getKind().name());
+      json.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+      json.writeNumberField("endEpochNanos", span.getEndEpochNanos());
+      json.writeNumberField("durationNanos", span.getEndEpochNanos() - span.getStartEpochNanos());
+      json.writeStringField("status", span.getStatus().getStatusCode().name());
+      json.writeObjectFieldStart("attributes");
+      for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+        json.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+      }
+      json.writeEndObject();
+      json.writeEndObject();
+    }
+    out.write('\n');
+  }
+
+  @Override
+  public synchronized CompletableResultCode flush() {
+    try {
+      out.flush();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public synchronized CompletableResultCode shutdown() {
+    if (shutdown) {
+      return CompletableResultCode.ofSuccess();
+    }
+    shutdown = true;
+    try {
+      out.close();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+}
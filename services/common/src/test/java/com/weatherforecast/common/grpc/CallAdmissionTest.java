@@ -0,0 +1,121 @@
+package com.weatherforecast.common.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CallAdmissionTest {
+
+  private final Executor pool = Runnable::run;
+  private Counter rejections;
+  private CallAdmission admission;
+  private AtomicInteger started;
+  private ServerCallHandler<String, String> handler;
+
+  @BeforeEach
+  void setUp() {
+    rejections = new SimpleMeterRegistry().counter("grpc.server.rejected");
+    admission = new CallAdmission(pool, 2, rejections);
+    started = new AtomicInteger();
+    handler =
+        (call, headers) -> {
+          started.incrementAndGet();
+          return new ServerCall.Listener<>() {};
+        };
+  }
+
+  @Test
+  void shouldRejectCallsBeyondTheLimitBeforeTheirHandlerRuns() {
+    assertSame(pool, admission.getExecutor(new TestCall(), new Metadata()));
+    assertSame(pool, admission.getExecutor(new TestCall(), new Metadata()));
+    TestCall rejected = new TestCall();
+
+    assertNull(admission.getExecutor(rejected, new Metadata()));
+    admission.interceptCall(rejected, new Metadata(), handler);
+
+    assertEquals(Status.Code.RESOURCE_EXHAUSTED, rejected.status.getCode());
+    assertEquals(0, started.get());
+    assertEquals(1.0, rejections.count());
+    assertEquals(2, admission.inFlight());
+  }
+
+  @Test
+  void shouldAdmitAgainOnceACallCompletes() {
+    TestCall call = new TestCall();
+    admission.getExecutor(call, new Metadata());
+    admission.getExecutor(new TestCall(), new Metadata());
+
+    admission.interceptCall(call, new Metadata(), handler).onComplete();
+
+    assertEquals(1, started.get());
+    assertNull(call.status);
+    assertEquals(1, admission.inFlight());
+    assertSame(pool, admission.getExecutor(new TestCall(), new Metadata()));
+  }
+
+  @Test
+  void shouldAdmitAgainOnceACallIsCancelled() {
+    TestCall call = new TestCall();
+    admission.getExecutor(call, new Metadata());
+
+    admission.interceptCall(call, new Metadata(), handler).onCancel();
+
+    assertEquals(0, admission.inFlight());
+  }
+
+  @Test
+  void shouldReleaseTheSlotWhenTheHandlerFailsToStart() {
+    TestCall call = new TestCall();
+    admission.getExecutor(call, new Metadata());
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            admission.interceptCall(
+                call,
+                new Metadata(),
+                (c, headers) -> {
+                  throw new IllegalStateException("no handler");
+                }));
+
+    assertEquals(0, admission.inFlight());
+  }
+
+  private static class TestCall extends ServerCall<String, String> {
+    private Status status;
+
+    @Override
+    public void request(int numMessages) {}
+
+    @Override
+    public void sendHeaders(Metadata headers) {}
+
+    @Override
+    public void sendMessage(String message) {}
+
+    @Override
+    public void close(Status status, Metadata trailers) {
+      this.status = status;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public MethodDescriptor<String, String> getMethodDescriptor() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.weatherforecast.common.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class AccessLogSamplerTest {
+  private static final Duration SLOW = Duration.ofSeconds(1);
+  private static final long FAST_NANOS = Duration.ofMillis(5).toNanos();
+
+  @Test
+  void shouldLogRequestsDrawnBelowTheSampleRate() {
+    assertTrue(new AccessLogSampler(0.1, SLOW, () -> 0.05).shouldLog(false, FAST_NANOS));
+    assertFalse(new AccessLogSampler(0.1, SLOW, () -> 0.1).shouldLog(false, FAST_NANOS));
+  }
+
+  @Test
+  void shouldAlwaysLogFailedAndSlowRequests() {
+    AccessLogSampler sampler = new AccessLogSampler(0, SLOW, () -> 0);
+
+    assertFalse(sampler.shouldLog(false, FAST_NANOS));
+    assertTrue(sampler.shouldLog(true, FAST_NANOS));
+    assertTrue(sampler.shouldLog(false, SLOW.toNanos()));
+  }
+
+  @Test
+  void shouldLogEveryRequestAtTheFullRate() {
+    assertTrue(new AccessLogSampler(1, SLOW, () -> 0.999).shouldLog(false, FAST_NANOS));
+  }
+
+  @Test
+  void shouldRejectRatesOutsideZeroAndOne() {
+    assertThrows(IllegalArgumentException.class, () -> new AccessLogSampler(1.5, SLOW, () -> 0));
+    assertThrows(IllegalArgumentException.class, () -> new AccessLogSampler(-0.1, SLOW, () -> 0));
+  }
+}
@@ -0,0 +1,82 @@
+package com.weatherforecast.common.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+public class ServerTimingTest {
+
+  @Test
+  void shouldRecordStagesInTheOrderTheyFinish() {
+    ServerTiming timing = new ServerTiming();
+
+    ServerTiming.time("auth", Mono.just(true))
+        .then(ServerTiming.describe("cache", "miss"))
+        .then(ServerTiming.time("grpc", Mono.just("data")))
+        .contextWrite(ServerTiming.recordingTo(timing))
+        .block();
+
+    assertTrue(
+        timing.toHeaderValue().matches("auth;dur=[\\d.]+, cache;desc=\"miss\", grpc;dur=[\\d.]+"),
+        timing.toHeaderValue());
+  }
+
+  @Test
+  void shouldAppendBackendStagesAsTheyAre() {
+    ServerTiming timing = new ServerTiming();
+    timing.record("auth", Duration.ofNanos(150_000), null);
+
+    timing.append("redis;desc=\"miss\";dur=0.8, onecall;dur=212.3");
+    timing.append(null);
+    timing.append(" ");
+
+    assertEquals(
+        "auth;dur=0.2, redis;desc=\"miss\";dur=0.8, onecall;dur=212.3", timing.toHeaderValue());
+  }
+
+  @Test
+  void shouldDescribeCacheLookups() {
+    ServerTiming timing = new ServerTiming();
+
+    ServerTiming.timeLookup("redis", Mono.empty())
+        .then(ServerTiming.timeLookup("redis", Mono.just("cached")))
+        .contextWrite(ServerTiming.recordingTo(timing))
+        .block();
+
+    assertTrue(
+        timing
+            .toHeaderValue()
+            .matches("redis;desc=\"miss\";dur=[\\d.]+, redis;desc=\"hit\";dur=[\\d.]+"),
+        timing.toHeaderValue());
+  }
+
+  @Test
+  void shouldFormatDurationsInMilliseconds() {
+    ServerTiming timing = new ServerTiming();
+
+    timing.record("onecall", Duration.ofNanos(212_340_000), null);
+
+    assertEquals("onecall;dur=212.3", timing.toHeaderValue());
+  }
+
+  @Test
+  void shouldRecordFailedStages() {
+    ServerTiming timing = new ServerTiming();
+
+    ServerTiming.time("grpc", Mono.error(new IllegalStateException("unavailable")))
+        .onErrorResume(error -> Mono.empty())
+        .contextWrite(ServerTiming.recordingTo(timing))
+        .block();
+
+    assertTrue(timing.toHeaderValue().startsWith("grpc;desc=\"error\";dur="));
+  }
+
+  @Test
+  void shouldPassStagesThroughWhenTheRequestIsNotTimed() {
+    assertEquals("data", ServerTiming.time("grpc", Mono.just("data")).block());
+    assertEquals("cached", ServerTiming.timeLookup("redis", Mono.just("cached")).block());
+    assertNull(ServerTiming.describe("cache", "hit").block());
+  }
+}
@@ -0,0 +1,96 @@
+package com.weatherforecast.common.tracing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JsonLinesSpanExporterTest {
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldWriteOneJsonLinePerSpan() throws Exception {
+    Path file = directory.resolve("traces/gateway-service.jsonl");
+    JsonLinesSpanExporter exporter =
+        new JsonLinesSpanExporter(file, "gateway-service", objectMapper);
+
+    assertTrue(
+        exporter
+            .export(
+                List.of(
+                    span("00f067aa0ba902b7", SpanId.getInvalid(), "http get"),
+                    span("53995c3f42cd8ad8", "00f067aa0ba902b7", "grpc.client")))
+            .isSuccess());
+    exporter.shutdown();
+
+    List<String> lines = Files.readAllLines(file);
+    assertEquals(2, lines.size());
+    JsonNode root = objectMapper.readTree(lines.get(0));
+    assertEquals("gateway-service", root.get("service").asText());
+    assertEquals(TRACE_ID, root.get("traceId").asText());
+    assertNull(root.get("parentSpanId"));
+    assertEquals("SERVER", root.get("kind").asText());
+    assertEquals(2500, root.get("durationNanos").asLong());
+    assertEquals("GetWeatherData", root.get("attributes").get("rpc.method").asText());
+    JsonNode child = objectMapper.readTree(lines.get(1));
+    assertEquals("00f067aa0ba902b7", child.get("parentSpanId").asText());
+    assertEquals("grpc.client", child.get("name").asText());
+  }
+
+  @Test
+  void shouldAppendToAnExistingFile() throws Exception {
+    Path file = directory.resolve("gateway-service.jsonl");
+    for (int i = 0; i < 2; i++) {
+      JsonLinesSpanExporter exporter =
+          new JsonLinesSpanExporter(file, "gateway-service", objectMapper);
+      exporter.export(List.of(span("00f067aa0ba902b7", SpanId.getInvalid(), "http get")));
+      exporter.shutdown();
+    }
+
+    assertEquals(2, Files.readAllLines(file).size());
+  }
+
+  @Test
+  void shouldRejectSpansAfterShutdown() throws Exception {
+    JsonLinesSpanExporter exporter =
+        new JsonLinesSpanExporter(
+            directory.resolve("gateway-service.jsonl"), "gateway-service", objectMapper);
+    exporter.shutdown();
+
+    assertFalse(
+        exporter
+            .export(List.of(span("00f067aa0ba902b7", SpanId.getInvalid(), "http get")))
+            .isSuccess());
+    assertTrue(exporter.shutdown().isSuccess());
+  }
+
+  private static SpanData span(String spanId, String parentSpanId, String name) {
+    SpanData span = mock(SpanData.class);
+    when(span.getTraceId()).thenReturn(TRACE_ID);
+    when(span.getSpanId()).thenReturn(spanId);
+    when(span.getParentSpanId()).thenReturn(parentSpanId);
+    when(span.getName()).thenReturn(name);
+    when(span.getKind()).thenReturn(SpanKind.SERVER);
+    when(span.getStartEpochNanos()).thenReturn(1_000L);
+    when(span.getEndEpochNanos()).thenReturn(3_500L);
+    when(span.getStatus()).thenReturn(StatusData.ok());
+    when(span.getAttributes())
+        .thenReturn(Attributes.of(AttributeKey.stringKey("rpc.method"), "GetWeatherData"));
+    return span;
+  }
+}
@@ -1,9 +1,15 @@
 package com.weatherforecast.gatewayservice;
 
+import com.weatherforecast.common.blocking.BlockingDetection;
+import com.weatherforecast.common.logging.AccessLogSampler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@Import({BlockingDetection.class, AccessLogSampler.class})
 public class GatewayServiceApplication {
 
   public static void main(String[] args) {
@@ -0,0 +1,51 @@
+package com.weatherforecast.gatewayservice.cache;
+
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * A weather response serialized once to JSON, with the entity tag derived from its bytes and the
+ * body compressed with each supported content coding.
+ */
+@Value
+public class CachedWeatherResponse {
+  byte[] body;
+  String etag;
+  long expiresAtMillis;
+
+  /** Compressed bodies keyed by content coding, most preferred first. */
+  Map<String, byte[]> encodedBodies;
+
+  /**
+   * Returns how long clients may reuse the response.
+   *
+   * @return the remaining lifetime in seconds, or 0 if the response must not be reused
+   */
+  public long maxAgeSeconds() {
+    return Math.max(0, (expiresAtMillis - System.currentTimeMillis()) / 1000);
+  }
+
+  /**
+   * Returns the entity tag of the body sent with a content coding. Each coding gets its own tag,
+   * since the bytes differ.
+   *
+   * @param coding the content coding, or null for the uncompressed body
+   * @return the entity tag
+   */
+  public String etag(String coding) {
+    if (coding == null) {
+      return etag;
+    }
+    return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+  }
+
+  /**
+   * Returns the body to send with a content coding.
+   *
+   * @param coding a key of {@link #getEncodedBodies()}, or null for the uncompressed body
+   * @return the body
+   */
+  public byte[] body(String coding) {
+    return coding == null ? body : encodedBodies.get(coding);
+  }
+}
@@ -0,0 +1,33 @@
+package com.weatherforecast.gatewayservice.cache;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import java.util.Optional;
+
+public interface LastKnownGoodWeatherStore {
+
+  /**
+   * Records weather data that weather-service returned successfully.
+   *
+   * @param key the normalized query the data answers
+   * @param data the weather data
+   */
+  void put(String key, WeatherDataDto data);
+
+  /**
+   * Returns the last data recorded under the key as it was recorded, so a call can send its
+   * version to weather-service and reuse it when weather-service replies that it is unchanged.
+   *
+   * @param key the normalized query
+   * @return the weather data, or empty if nothing recent enough was recorded
+   */
+  Optional<WeatherDataDto> get(String key);
+
+  /**
+   * Returns the last data recorded under the key, marked as stale and carrying the time it was
+   * fetched, for serving while weather-service is unavailable.
+   *
+   * @param key the normalized query
+   * @return the stale weather data, or empty if nothing recent enough was recorded
+   */
+  Optional<WeatherDataDto> getStale(String key);
+}
@@ -0,0 +1,15 @@
+package com.weatherforecast.gatewayservice.cache;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenValidationCache {
+
+  /**
+   * Checks whether a JWT token is valid, answering from the cache when the token was validated
+   * recently and asking the authentication service otherwise.
+   *
+   * @param token the JWT token to be validated
+   * @return Mono<Boolean> indicating whether the token is valid or not
+   */
+  Mono<Boolean> isAuthenticated(String token);
+}
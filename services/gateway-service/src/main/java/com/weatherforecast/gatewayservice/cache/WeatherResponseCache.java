@@ -0,0 +1,18 @@
+package com.weatherforecast.gatewayservice.cache;
+
+import com.weatherforecast.gatewayservice.dto.http.WeatherResponseDto;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+public interface WeatherResponseCache {
+
+  /**
+   * Returns the serialized response cached under the key, loading, serializing and caching it on a
+   * miss. Responses built from fallback data are returned but never cached.
+   *
+   * @param key the normalized query the response answers
+   * @param loader supplies the response on a miss
+   * @return Mono<CachedWeatherResponse> containing the serialized response and its entity tag
+   */
+  Mono<CachedWeatherResponse> get(String key, Supplier<Mono<WeatherResponseDto>> loader);
+}
@@ -0,0 +1,75 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weatherforecast.gatewayservice.cache.LastKnownGoodWeatherStore;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the most recent successful weather data per query, bounded in size and age. Entries older
+ * than the maximum age are dropped so an outage never serves arbitrarily old weather. Hit and miss
+ * counts are exported as {@code cache.gets{cache=weather-last-known-good}}, so hits count the
+ * stale responses served. Stale data carries the time weather-service fetched it, or the time it
+ * was recorded when weather-service did not say.
+ */
+@Component
+public class CaffeineLastKnownGoodWeatherStore implements LastKnownGoodWeatherStore {
+  private final Cache<String, Entry> cache;
+
+  public CaffeineLastKnownGoodWeatherStore(
+      MeterRegistry meterRegistry,
+      @Value("${weather.last-known-good.maximum-size:10000}") long maximumSize,
+      @Value("${weather.last-known-good.max-age-seconds:21600}") long maxAgeSeconds) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "weather-last-known-good");
+  }
+
+  @Override
+  public void put(String key, WeatherDataDto data) {
+    if (data.isFallback()) {
+      return;
+    }
+    long fetchedAtMillis =
+        data.getFetchedAt() != null ? data.getFetchedAt() : System.currentTimeMillis();
+    cache.put(key, new Entry(data, fetchedAtMillis));
+  }
+
+  @Override
+  public Optional<WeatherDataDto> get(String key) {
+    // Read through the map view so only stale responses count towards the cache statistics.
+    return Optional.ofNullable(cache.asMap().get(key)).map(entry -> entry.data);
+  }
+
+  @Override
+  public Optional<WeatherDataDto> getStale(String key) {
+    return Optional.ofNullable(cache.getIfPresent(key))
+        .map(
+            entry ->
+                entry.data.toBuilder()
+                    .stale(true)
+                    .fallback(true)
+                    .lastUpdated(entry.fetchedAtMillis)
+                    .build());
+  }
+
+  private static final class Entry {
+    private final WeatherDataDto data;
+    private final long fetchedAtMillis;
+
+    private Entry(WeatherDataDto data, long fetchedAtMillis) {
+      this.data = data;
+      this.fetchedAtMillis = fetchedAtMillis;
+    }
+  }
+}
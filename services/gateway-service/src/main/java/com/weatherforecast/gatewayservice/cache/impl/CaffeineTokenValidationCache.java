@@ -0,0 +1,137 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.weatherforecast.gatewayservice.cache.TokenValidationCache;
+import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps token validation results in memory, keyed by a SHA-256 hash of the token so raw tokens are
+ * never retained. Valid tokens are cached until their {@code exp} claim, capped at a maximum TTL
+ * so revocations still take effect; invalid tokens are cached briefly. Failed validation calls are
+ * not cached. Hit and miss counts are exported as {@code cache.gets{cache=token-validation}}.
+ */
+@Slf4j
+@Component
+public class CaffeineTokenValidationCache implements TokenValidationCache {
+  private final AuthServiceGrpcClient authServiceGrpcClient;
+  private final ObjectMapper objectMapper;
+  private final Cache<String, CachedValidation> cache;
+  private final long maxTtlSeconds;
+  private final long negativeTtlSeconds;
+
+  public CaffeineTokenValidationCache(
+      AuthServiceGrpcClient authServiceGrpcClient,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${auth.token-cache.maximum-size:10000}") long maximumSize,
+      @Value("${auth.token-cache.max-ttl-seconds:900}") long maxTtlSeconds,
+      @Value("${auth.token-cache.negative-ttl-seconds:10}") long negativeTtlSeconds) {
+    this.authServiceGrpcClient = authServiceGrpcClient;
+    this.objectMapper = objectMapper;
+    this.maxTtlSeconds = maxTtlSeconds;
+    this.negativeTtlSeconds = negativeTtlSeconds;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ValidationExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-validation");
+  }
+
+  @Override
+  public Mono<Boolean> isAuthenticated(String token) {
+    String key = hash(token);
+    CachedValidation cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return Mono.just(cached.valid);
+    }
+
+    return authServiceGrpcClient
+        .isAuthenticated(token)
+        .doOnNext(
+            valid -> {
+              long ttlSeconds = valid ? secondsUntilExpiry(token) : negativeTtlSeconds;
+              if (ttlSeconds > 0) {
+                cache.put(key, new CachedValidation(valid, TimeUnit.SECONDS.toNanos(ttlSeconds)));
+              }
+            })
+        .onErrorResume(
+            e -> {
+              log.warn("Token validation failed, result not cached: {}", e.getMessage());
+              return Mono.just(false);
+            });
+  }
+
+  private long secondsUntilExpiry(String token) {
+    String[] parts = token.split("\\.");
+    if (parts.length < 2) {
+      return maxTtlSeconds;
+    }
+    try {
+      JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+      if (exp == null || !exp.canConvertToLong()) {
+        return maxTtlSeconds;
+      }
+      return Math.min(exp.asLong() - Instant.now().getEpochSecond(), maxTtlSeconds);
+    } catch (IOException | IllegalArgumentException e) {
+      return maxTtlSeconds;
+    }
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static final class CachedValidation {
+    private final boolean valid;
+    private final long ttlNanos;
+
+    private CachedValidation(boolean valid, long ttlNanos) {
+      this.valid = valid;
+      this.ttlNanos = ttlNanos;
+    }
+  }
+
+  private static class ValidationExpiry implements Expiry<String, CachedValidation> {
+    @Override
+    public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+      return value.ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, CachedValidation value, long currentTime, long currentDuration) {
+      return value.ttlNanos;
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, CachedValidation value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.gatewayservice.cache.CachedWeatherResponse;
+import com.weatherforecast.gatewayservice.cache.WeatherResponseCache;
+import com.weatherforecast.gatewayservice.compression.ResponseCompressor;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps serialized weather responses in memory for a fixed TTL, so repeat requests for the same
+ * place skip both the weather-service call and JSON serialization. Fallback responses are never
+ * cached; stale ones are given a short max-age so clients back off while weather-service recovers.
+ * Each body is compressed on a worker thread when it is stored, so hot responses are compressed
+ * once rather than per request; uncached responses are compressed by Netty as they are sent. Hit
+ * and miss counts are exported as {@code cache.gets{cache=weather-response}}; each request's
+ * outcome, serialization time and, when its response is cached, compression time are also recorded
+ * as its {@code cache}, {@code map} and {@code compress} server timings.
+ */
+@Component
+public class CaffeineWeatherResponseCache implements WeatherResponseCache {
+  private final ObjectMapper objectMapper;
+  private final ResponseCompressor responseCompressor;
+  private final Cache<String, CachedWeatherResponse> cache;
+  private final long ttlMillis;
+  private final long staleMaxAgeMillis;
+
+  public CaffeineWeatherResponseCache(
+      ObjectMapper objectMapper,
+      ResponseCompressor responseCompressor,
+      MeterRegistry meterRegistry,
+      @Value("${weather.response-cache.maximum-size:10000}") long maximumSize,
+      @Value("${weather.response-cache.ttl-seconds:60}") long ttlSeconds,
+      @Value("${weather.response-cache.stale-max-age-seconds:10}") long staleMaxAgeSeconds) {
+    this.objectMapper = objectMapper;
+    this.responseCompressor = responseCompressor;
+    this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+    this.staleMaxAgeMillis = Duration.ofSeconds(staleMaxAgeSeconds).toMillis();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "weather-response");
+  }
+
+  @Override
+  public Mono<CachedWeatherResponse> get(
+      String key, Supplier<Mono<WeatherResponseDto>> loader) {
+    CachedWeatherResponse cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return ServerTiming.describe("cache", "hit").thenReturn(cached);
+    }
+
+    return ServerTiming.describe("cache", "miss")
+        .then(loader.get())
+        .flatMap(
+            response -> {
+              WeatherDataDto data = response.getData();
+              boolean cacheable = data != null && !data.isFallback();
+              long maxAgeMillis =
+                  cacheable ? ttlMillis : data != null && data.isStale() ? staleMaxAgeMillis : 0;
+              Mono<CachedWeatherResponse> serialized =
+                  ServerTiming.time(
+                      "map", Mono.fromCallable(() -> serialize(response, maxAgeMillis)));
+              if (!cacheable) {
+                return serialized;
+              }
+              return serialized
+                  .flatMap(uncompressed -> ServerTiming.time("compress", precompress(uncompressed)))
+                  .doOnNext(precompressed -> cache.put(key, precompressed));
+            });
+  }
+
+  /**
+   * Compresses a response that is about to be cached, on a worker thread rather than the event
+   * loop. Responses that are not cached are left to Netty, which compresses them as they are sent.
+   */
+  private Mono<CachedWeatherResponse> precompress(CachedWeatherResponse response) {
+    return Mono.fromCallable(
+            () ->
+                new CachedWeatherResponse(
+                    response.getBody(),
+                    response.getEtag(),
+                    response.getExpiresAtMillis(),
+                    responseCompressor.compress(response.getBody())))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private CachedWeatherResponse serialize(WeatherResponseDto response, long maxAgeMillis)
+      throws JsonProcessingException {
+    byte[] body = objectMapper.writeValueAsBytes(response);
+    long expiresAtMillis = System.currentTimeMillis() + maxAgeMillis;
+    return new CachedWeatherResponse(body, etag(body), expiresAtMillis, Map.of());
+  }
+
+  private static String etag(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.weatherforecast.gatewayservice.compression;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ResponseCompressor {
+
+  /**
+   * Compresses a response body once with every content coding the gateway supports, so cached
+   * responses can be sent compressed without compressing them again per request.
+   *
+   * @param body the uncompressed body
+   * @return the compressed bodies keyed by content coding, most preferred first, or an empty map
+   *     if compression is disabled or the body is below the minimum response size
+   */
+  Map<String, byte[]> compress(byte[] body);
+
+  /**
+   * Picks the content coding to send to a client from those available for a response, honouring
+   * the client's quality values and preferring the gateway's order on ties.
+   *
+   * @param acceptEncoding the request's {@code Accept-Encoding} header, or null if it had none
+   * @param available the available content codings, most preferred first
+   * @return the content coding to use, or null to send the body uncompressed
+   */
+  String selectEncoding(String acceptEncoding, Collection<String> available);
+}
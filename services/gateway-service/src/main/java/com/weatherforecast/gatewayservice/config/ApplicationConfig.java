@@ -3,10 +3,17 @@ package com.weatherforecast.gatewayservice.config;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import java.time.Duration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({
+  RateLimitProperties.class,
+  LoadSheddingProperties.class,
+  GrpcDeadlineProperties.class,
+  GrpcChannelProperties.class
+})
 public class ApplicationConfig {
 
   @Bean
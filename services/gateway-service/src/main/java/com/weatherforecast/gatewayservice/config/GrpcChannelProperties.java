@@ -0,0 +1,25 @@
+package com.weatherforecast.gatewayservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings shared by the gateway's gRPC channels. The number of channels pooled per
+ * backend service is set per service, next to its address.
+ */
+@Data
+@ConfigurationProperties(prefix = "grpc.client.channel")
+public class GrpcChannelProperties {
+  /** Idle time after which a connection is pinged; backends permit pings every 30 seconds. */
+  private Duration keepAliveTime = Duration.ofSeconds(30);
+
+  /** Time to wait for a ping acknowledgement before the connection is considered dead. */
+  private Duration keepAliveTimeout = Duration.ofSeconds(10);
+
+  /** Whether connections without calls in flight are pinged too. */
+  private boolean keepAliveWithoutCalls = true;
+
+  /** Whether pooled channels connect at startup rather than on their first call. */
+  private boolean warmUp = true;
+}
@@ -0,0 +1,31 @@
+package com.weatherforecast.gatewayservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Deadlines for unary gRPC calls made by the gateway. Each RPC method gets a deadline of its
+ * observed latency percentile times a multiplier, kept between {@code min} and {@code max}. Until a
+ * method has enough samples it gets {@code max}.
+ */
+@Data
+@ConfigurationProperties(prefix = "grpc.client.deadline")
+public class GrpcDeadlineProperties {
+  /** Latency percentile the deadline is derived from, between 0 and 1. */
+  private double percentile = 0.99;
+
+  private double multiplier = 2.0;
+
+  /** Shortest deadline; should cover an upstream miss if misses are rarer than the percentile. */
+  private Duration min = Duration.ofSeconds(1);
+
+  /** Longest deadline, also used while a method has too few samples. */
+  private Duration max = Duration.ofSeconds(5);
+
+  /** Calls a method needs within the window before its latency is trusted. */
+  private int minSamples = 100;
+
+  /** Latency is measured over the last one to two windows. */
+  private Duration window = Duration.ofSeconds(30);
+}
@@ -0,0 +1,43 @@
+package com.weatherforecast.gatewayservice.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Load shedding applied by {@code LoadSheddingFilter}. Each route is a path prefix with a priority;
+ * the first route whose prefix matches a request applies and unmatched requests are never shed.
+ */
+@Data
+@ConfigurationProperties(prefix = "load-shedding")
+public class LoadSheddingProperties {
+  private boolean enabled = true;
+
+  /** Latency that even the fastest request of an interval may exceed only under overload. */
+  private Duration target = Duration.ofMillis(200);
+
+  /** Window over which the fastest request is measured. */
+  private Duration interval = Duration.ofMillis(500);
+
+  /** Completed requests an interval needs before its latency is trusted. */
+  private int minSamples = 10;
+
+  private List<Route> routes = new ArrayList<>();
+
+  @Data
+  public static class Route {
+    private String path;
+    private Priority priority = Priority.NORMAL;
+  }
+
+  public enum Priority {
+    /** Shed whenever any normal route is overloaded. Latency is not measured. */
+    LOW,
+    /** Latency is measured; shed beyond the route's concurrency limit while it is overloaded. */
+    NORMAL,
+    /** Never shed. */
+    CRITICAL
+  }
+}
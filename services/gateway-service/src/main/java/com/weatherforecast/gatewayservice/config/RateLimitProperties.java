@@ -0,0 +1,42 @@
+package com.weatherforecast.gatewayservice.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limits applied by {@code RateLimitFilter}. Each route is a path prefix; the first route
+ * whose prefix matches a request applies, so list more specific prefixes first. A route may limit
+ * each authenticated user, each client IP, or both.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+  private boolean enabled = true;
+
+  /** Upper bound on tracked users and IPs; the least recently used are evicted beyond it. */
+  private long maximumKeys = 100_000;
+
+  /** Keys idle this long are evicted. Should exceed the time a bucket takes to refill. */
+  private Duration idleTimeout = Duration.ofMinutes(10);
+
+  private List<Route> routes = new ArrayList<>();
+
+  @Data
+  public static class Route {
+    private String path;
+    private Limit perUser;
+    private Limit perIp;
+  }
+
+  @Data
+  public static class Limit {
+    /** Sustained rate at which requests are admitted. */
+    private double requestsPerSecond;
+
+    /** Requests that may be made at once after a quiet period. */
+    private int burst = 1;
+  }
+}
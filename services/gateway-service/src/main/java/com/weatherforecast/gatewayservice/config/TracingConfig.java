@@ -0,0 +1,30 @@
+package com.weatherforecast.gatewayservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherforecast.common.tracing.JsonLinesSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span exporters for the traces Micrometer Tracing records. Spring Boot sends sampled spans to
+ * every {@link SpanExporter} bean, so exporters are plugged in by declaring beans or, for OTLP, by
+ * adding {@code opentelemetry-exporter-otlp} and setting {@code management.otlp.tracing.endpoint}.
+ */
+@Configuration
+public class TracingConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+  public SpanExporter jsonLinesSpanExporter(
+      @Value("${tracing.file.path:traces/${spring.application.name}.jsonl}") String path,
+      @Value("${spring.application.name}") String serviceName,
+      ObjectMapper objectMapper)
+      throws IOException {
+    return new JsonLinesSpanExporter(Path.of(path), serviceName, objectMapper);
+  }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
@@ -25,44 +26,50 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public ResponseEntity<LoginResponseDto> login(
+  public Mono<ResponseEntity<LoginResponseDto>> login(
       @Valid @RequestBody LoginRequestDto loginRequestDto) {
     String password = loginRequestDto.getPassword();
     String email = loginRequestDto.getUsername();
     log.info("Login request received for email: {}", email);
-    log.info(password, email);
 
-    var authData = authServiceGrpcClient.login(email, password);
-    if (!authData.isSuccess()) {
-      log.error("Login failed for email: {}", email);
-      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-          .body(LoginResponseDto.builder().message("Login failed").build());
-    }
+    return authServiceGrpcClient
+        .login(email, password)
+        .map(
+            authData -> {
+              if (!authData.isSuccess()) {
+                log.error("Login failed for email: {}", email);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(LoginResponseDto.builder().message("Login failed").build());
+              }
 
-    LoginResponseDto response =
-        LoginResponseDto.builder().message("Login successful").data(authData).build();
+              LoginResponseDto response =
+                  LoginResponseDto.builder().message("Login successful").data(authData).build();
 
-    return ResponseEntity.ok().body(response);
+              return ResponseEntity.ok().body(response);
+            });
   }
 
   @PostMapping("/register")
-  public ResponseEntity<RegisterResponseDto> register(
+  public Mono<ResponseEntity<RegisterResponseDto>> register(
       @Valid @RequestBody RegisterRequestDto registerRequestDto) {
     String password = registerRequestDto.getPassword();
     String email = registerRequestDto.getUsername();
     log.info("Register request received for email: {}", email);
-    log.info(password, email);
 
-    var isSuccess = authServiceGrpcClient.register(email, password);
-    if (!isSuccess) {
-      log.error("Register failed for email: {}", email);
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-          .body(RegisterResponseDto.builder().message("User already exists").build());
-    }
+    return authServiceGrpcClient
+        .register(email, password)
+        .map(
+            isSuccess -> {
+              if (!isSuccess) {
+                log.error("Register failed for email: {}", email);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(RegisterResponseDto.builder().message("User already exists").build());
+              }
 
-    RegisterResponseDto response =
-        RegisterResponseDto.builder().message("Register successful").build();
+              RegisterResponseDto response =
+                  RegisterResponseDto.builder().message("Register successful").build();
 
-    return ResponseEntity.status(HttpStatus.OK).body(response);
+              return ResponseEntity.status(HttpStatus.OK).body(response);
+            });
   }
 }
@@ -1,32 +1,84 @@
 package com.weatherforecast.gatewayservice.controllers;
 
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.gatewayservice.cache.CachedWeatherResponse;
+import com.weatherforecast.gatewayservice.cache.WeatherResponseCache;
+import com.weatherforecast.gatewayservice.compression.ResponseCompressor;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchRequestDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchRequestDto.Location;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchResultDto;
 import com.weatherforecast.gatewayservice.dto.http.WeatherResponseDto;
 import com.weatherforecast.gatewayservice.grpc.WeatherServiceGrpcClient;
+import com.weatherforecast.gatewayservice.grpc.channel.CoordinateAffinity;
+import com.weatherforecast.gatewayservice.stream.WeatherStreamHub;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/weather")
 public class WeatherController {
+  private static final Set<String> PROJECTION_FIELDS = Set.of("current", "forecast", "alerts");
   private final WeatherServiceGrpcClient weatherServiceGrpcClient;
+  private final WeatherResponseCache weatherResponseCache;
+  private final ResponseCompressor responseCompressor;
+  private final int batchMaxLocations;
+  private final int batchConcurrency;
+  private final WeatherStreamHub weatherStreamHub;
+  private final Duration streamHeartbeat;
 
-  public WeatherController(WeatherServiceGrpcClient service) {
+  public WeatherController(
+      WeatherServiceGrpcClient service,
+      WeatherResponseCache weatherResponseCache,
+      ResponseCompressor responseCompressor,
+      @Value("${weather.batch.max-locations:500}") int batchMaxLocations,
+      @Value("${weather.batch.concurrency:32}") int batchConcurrency,
+      WeatherStreamHub weatherStreamHub,
+      @Value("${weather.stream.heartbeat-seconds:15}") long streamHeartbeatSeconds) {
     this.weatherServiceGrpcClient = service;
+    this.weatherResponseCache = weatherResponseCache;
+    this.responseCompressor = responseCompressor;
+    this.batchMaxLocations = batchMaxLocations;
+    this.batchConcurrency = batchConcurrency;
+    this.weatherStreamHub = weatherStreamHub;
+    this.streamHeartbeat = Duration.ofSeconds(streamHeartbeatSeconds);
   }
 
   @GetMapping
-  public Mono<ResponseEntity<WeatherResponseDto>> getMethodName(
+  public Mono<ResponseEntity<?>> getMethodName(
       @RequestParam(required = false) Double lat,
       @RequestParam(required = false) Double lon,
-      @RequestParam(required = false) String city) {
+      @RequestParam(required = false) String city,
+      @RequestParam(required = false) List<String> fields,
+      @RequestParam(required = false) Integer days,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
 
-    ResponseEntity<WeatherResponseDto> response;
+    ResponseEntity<?> response;
     if (lat == null && lon == null && city == null) {
       response =
           ResponseEntity.badRequest()
@@ -51,30 +103,258 @@ public class WeatherController {
       return Mono.just(response);
     }
 
+    WeatherProjectionDto projection = toProjection(fields, days);
+    if (projection == null) {
+      response =
+          ResponseEntity.badRequest()
+              .body(
+                  WeatherResponseDto.builder()
+                      .success(false)
+                      .message("fields must be current, forecast or alerts and days must be >= 0.")
+                      .build());
+      return Mono.just(response);
+    }
+
+    String projectionKey = projection.toKey();
     if (lat != null && lon != null) {
-      return weatherServiceGrpcClient
-          .getWeatherDataByCoordinates(lat, lon)
-          .map(
-              data ->
-                  ResponseEntity.ok()
-                      .body(
-                          WeatherResponseDto.builder()
-                              .success(true)
-                              .message("Weather data fetched successfully.")
-                              .data(data)
-                              .build()));
-    }
-
-    return weatherServiceGrpcClient
-        .getWeatherData(city)
-        .map(
-            data ->
-                ResponseEntity.ok()
-                    .body(
-                        WeatherResponseDto.builder()
-                            .success(true)
-                            .message("Weather data fetched successfully.")
-                            .data(data)
-                            .build()));
+      return weatherResponseCache
+          .get(
+              CoordinateAffinity.forCoordinates(lat, lon) + "|" + projectionKey,
+              () ->
+                  ServerTiming.time(
+                          "grpc",
+                          weatherServiceGrpcClient.getWeatherDataByCoordinates(
+                              lat, lon, projection))
+                      .map(this::toResponse))
+          .map(cached -> toCachedResponseEntity(cached, acceptEncoding));
+    }
+
+    return weatherResponseCache
+        .get(
+            CoordinateAffinity.forLocation(city) + "|" + projectionKey,
+            () ->
+                ServerTiming.time("grpc", weatherServiceGrpcClient.getWeatherData(city, projection))
+                    .map(this::toResponse))
+        .map(cached -> toCachedResponseEntity(cached, acceptEncoding));
+  }
+
+  /**
+   * Fetches weather data for many locations in one call, streaming each result as a line of NDJSON
+   * as soon as it is available. Identical locations are fetched once and at most {@code
+   * weather.batch.concurrency} requests to weather-service are in flight at a time. Invalid
+   * locations produce a failed result line rather than failing the whole batch.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<?> getBatch(@RequestBody WeatherBatchRequestDto request) {
+    List<Location> locations = request.getLocations();
+    if (locations == null || locations.isEmpty() || locations.size() > batchMaxLocations) {
+      return ResponseEntity.badRequest()
+          .body(
+              WeatherResponseDto.builder()
+                  .success(false)
+                  .message("Please provide between 1 and " + batchMaxLocations + " locations.")
+                  .build());
+    }
+
+    WeatherProjectionDto projection = toProjection(request.getFields(), request.getDays());
+    if (projection == null) {
+      return ResponseEntity.badRequest()
+          .body(
+              WeatherResponseDto.builder()
+                  .success(false)
+                  .message("fields must be current, forecast or alerts and days must be >= 0.")
+                  .build());
+    }
+
+    List<WeatherBatchResultDto> invalid = new ArrayList<>();
+    Map<String, List<Integer>> indexesByKey = new LinkedHashMap<>();
+    for (int i = 0; i < locations.size(); i++) {
+      Location location = locations.get(i);
+      String key = toBatchKey(location);
+      if (key == null) {
+        invalid.add(
+            WeatherBatchResultDto.builder()
+                .indexes(List.of(i))
+                .location(location)
+                .success(false)
+                .message("Please provide either lat and lon or city.")
+                .build());
+        continue;
+      }
+      indexesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+
+    Flux<WeatherBatchResultDto> results =
+        Flux.fromIterable(indexesByKey.values())
+            .flatMap(
+                indexes -> fetchBatchResult(indexes, locations.get(indexes.get(0)), projection),
+                batchConcurrency);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(Flux.fromIterable(invalid).concatWith(results));
+  }
+
+  /**
+   * Fetches one distinct batch location. Placeholder data returned when weather-service is
+   * unavailable and nothing is known about the location, missing data and errors become failed
+   * lines, so clients can tell them apart from real data; stale data is returned flagged as such.
+   */
+  private Mono<WeatherBatchResultDto> fetchBatchResult(
+      List<Integer> indexes, Location location, WeatherProjectionDto projection) {
+    Mono<WeatherDataDto> data =
+        location.getCity() != null
+            ? weatherServiceGrpcClient.getWeatherData(location.getCity(), projection)
+            : weatherServiceGrpcClient.getWeatherDataByCoordinates(
+                location.getLat(), location.getLon(), projection);
+    WeatherBatchResultDto.WeatherBatchResultDtoBuilder result =
+        WeatherBatchResultDto.builder().indexes(indexes).location(location);
+
+    return data.map(
+            weatherData ->
+                weatherData.isFallback() && !weatherData.isStale()
+                    ? result
+                        .success(false)
+                        .message("Weather data is currently unavailable.")
+                        .build()
+                    : result
+                        .success(true)
+                        .message("Weather data fetched successfully.")
+                        .data(weatherData)
+                        .build())
+        .switchIfEmpty(
+            Mono.fromSupplier(
+                () -> result.success(false).message("Weather data not found.").build()))
+        .onErrorResume(
+            error -> {
+              log.warn("Batch lookup failed for {}: {}", location, error.getMessage());
+              return Mono.just(
+                  result.success(false).message("Weather data is currently unavailable.").build());
+            });
+  }
+
+  /**
+   * Streams the weather for a location as Server-Sent Events. An event is sent on connect and then
+   * whenever the data changes; watchers of the same place share one upstream subscription. A
+   * comment is sent every {@code weather.stream.heartbeat-seconds} to keep idle connections open.
+   */
+  @GetMapping("/stream")
+  public ResponseEntity<?> stream(
+      @RequestParam(required = false) Double lat,
+      @RequestParam(required = false) Double lon,
+      @RequestParam(required = false) String city) {
+    boolean coordinates = lat != null && lon != null && city == null;
+    boolean named = city != null && !city.isBlank() && lat == null && lon == null;
+    if (!coordinates && !named) {
+      return ResponseEntity.badRequest()
+          .body(
+              WeatherResponseDto.builder()
+                  .success(false)
+                  .message("Please provide either lat and lon or city.")
+                  .build());
+    }
+
+    Flux<ServerSentEvent<WeatherDataDto>> updates =
+        (coordinates ? weatherStreamHub.watch(lat, lon) : weatherStreamHub.watch(city))
+            .map(data -> ServerSentEvent.builder(data).event("weather").build());
+    Flux<ServerSentEvent<WeatherDataDto>> heartbeats =
+        Flux.interval(streamHeartbeat)
+            .map(tick -> ServerSentEvent.<WeatherDataDto>builder().comment("heartbeat").build());
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.TEXT_EVENT_STREAM)
+        .cacheControl(CacheControl.noStore())
+        .body(Flux.merge(updates, heartbeats));
+  }
+
+  /**
+   * Normalizes a batch location the same way single requests are cached, so entries that differ
+   * only in case or coordinate noise are fetched once.
+   *
+   * @return the key, or null if the location is invalid
+   */
+  private String toBatchKey(Location location) {
+    if (location == null) {
+      return null;
+    }
+    if (location.getCity() != null) {
+      boolean valid =
+          !location.getCity().isBlank() && location.getLat() == null && location.getLon() == null;
+      return valid ? CoordinateAffinity.forLocation(location.getCity()) : null;
+    }
+    if (location.getLat() == null || location.getLon() == null) {
+      return null;
+    }
+    return CoordinateAffinity.forCoordinates(location.getLat(), location.getLon());
+  }
+
+  private WeatherResponseDto toResponse(WeatherDataDto data) {
+    return WeatherResponseDto.builder()
+        .success(true)
+        .message("Weather data fetched successfully.")
+        .data(data)
+        .build();
+  }
+
+  /**
+   * Wraps a serialized response with its entity tag and the time clients may reuse it. WebFlux
+   * compares the tag with {@code If-None-Match} and answers 304 without a body when they match.
+   * The body is sent with the best precompressed coding the client accepts; Netty leaves bodies
+   * that already carry a {@code Content-Encoding} alone.
+   */
+  private ResponseEntity<?> toCachedResponseEntity(
+      CachedWeatherResponse response, String acceptEncoding) {
+    long maxAgeSeconds = response.maxAgeSeconds();
+    CacheControl cacheControl =
+        maxAgeSeconds > 0
+            ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate()
+            : CacheControl.noStore();
+    String coding =
+        responseCompressor.selectEncoding(acceptEncoding, response.getEncodedBodies().keySet());
+
+    ResponseEntity.BodyBuilder builder =
+        ResponseEntity.ok()
+            .eTag(response.etag(coding))
+            .cacheControl(cacheControl)
+            .contentType(MediaType.APPLICATION_JSON);
+    if (!response.getEncodedBodies().isEmpty()) {
+      builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+    }
+    if (coding != null) {
+      builder.header(HttpHeaders.CONTENT_ENCODING, coding);
+    }
+    return builder.body(response.body(coding));
+  }
+
+  /**
+   * Builds the projection requested through the {@code fields} and {@code days} parameters. When
+   * neither is given the full weather data is returned; {@code days} alone limits the forecast.
+   *
+   * @return the projection, or null if a parameter is invalid
+   */
+  private WeatherProjectionDto toProjection(List<String> fields, Integer days) {
+    if (fields == null && days == null) {
+      return WeatherProjectionDto.ALL;
+    }
+    if (days != null && days < 0) {
+      return null;
+    }
+
+    Set<String> selected =
+        fields == null
+            ? PROJECTION_FIELDS
+            : fields.stream()
+                .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    if (!PROJECTION_FIELDS.containsAll(selected)) {
+      return null;
+    }
+
+    int forecastDays = days != null ? days : Integer.MAX_VALUE;
+    return WeatherProjectionDto.builder()
+        .current(selected.contains("current"))
+        .forecastDays(selected.contains("forecast") ? forecastDays : 0)
+        .alerts(selected.contains("alerts"))
+        .build();
   }
 }
@@ -0,0 +1,16 @@
+package com.weatherforecast.gatewayservice.dto.grpc;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A key published by auth-service for verifying token signatures. HMAC keys carry the shared
+ * secret; RSA keys carry the X.509-encoded public key.
+ */
+@Value
+@Builder
+public class VerificationKeyDto {
+  private String keyId;
+  private String algorithm;
+  private byte[] key;
+}
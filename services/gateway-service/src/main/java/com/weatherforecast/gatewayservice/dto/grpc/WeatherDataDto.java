@@ -1,12 +1,14 @@
 package com.weatherforecast.gatewayservice.dto.grpc;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class WeatherDataDto {
   private Double latitude;
   private Double longitude;
@@ -20,6 +22,22 @@ public class WeatherDataDto {
   private Double windSpeed;
   @Builder.Default private List<Forecast> forecast = new ArrayList<>();
   @Builder.Default private List<Alert> alerts = new ArrayList<>();
+  @JsonIgnore @Builder.Default private boolean fallback = false;
+
+  /** The content version weather-service gave this data, sent back as {@code known_version}. */
+  @JsonIgnore private String version;
+
+  /** When weather-service fetched this data, in epoch milliseconds, or null if unknown. */
+  @JsonIgnore private Long fetchedAt;
+
+  /** Set when weather-service was unavailable and this is the last data it returned. */
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  @Builder.Default
+  private boolean stale = false;
+
+  /** When stale data was fetched from weather-service, in epoch milliseconds. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long lastUpdated;
 
   @Value
   @Builder
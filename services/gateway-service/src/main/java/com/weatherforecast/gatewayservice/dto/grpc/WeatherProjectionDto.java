@@ -0,0 +1,27 @@
+package com.weatherforecast.gatewayservice.dto.grpc;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Parts of the weather data a caller needs. Location fields are always returned; {@link #ALL}
+ * requests everything and is sent to weather-service without a projection.
+ */
+@Value
+@Builder
+public class WeatherProjectionDto {
+  public static final WeatherProjectionDto ALL = WeatherProjectionDto.builder().build();
+
+  @Builder.Default private boolean current = true;
+  @Builder.Default private int forecastDays = Integer.MAX_VALUE;
+  @Builder.Default private boolean alerts = true;
+
+  /**
+   * Returns a compact identifier of this projection for use in cache keys.
+   *
+   * @return the key, equal for equal projections
+   */
+  public String toKey() {
+    return current + ":" + forecastDays + ":" + alerts;
+  }
+}
@@ -0,0 +1,28 @@
+package com.weatherforecast.gatewayservice.dto.http;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherBatchRequestDto {
+  private List<Location> locations;
+  private List<String> fields;
+  private Integer days;
+
+  /** A single query: either {@code lat} and {@code lon} or {@code city}. */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Location {
+    private Double lat;
+    private Double lon;
+    private String city;
+  }
+}
@@ -0,0 +1,23 @@
+package com.weatherforecast.gatewayservice.dto.http;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchRequestDto.Location;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One line of a batch response. Identical locations in a request are fetched once, so a result
+ * lists every request position it answers.
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WeatherBatchResultDto {
+  private List<Integer> indexes;
+  private Location location;
+  private boolean success;
+  private String message;
+  private WeatherDataDto data;
+}
@@ -1,6 +1,10 @@
 package com.weatherforecast.gatewayservice.filter;
 
-import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.gatewayservice.cache.TokenValidationCache;
+import com.weatherforecast.gatewayservice.security.TokenVerifier;
+import com.weatherforecast.gatewayservice.security.TokenVerifier.Result;
+import com.weatherforecast.gatewayservice.security.TokenVerifier.Verification;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
@@ -15,15 +19,22 @@ import reactor.core.publisher.Mono;
 
 @Slf4j
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class JwtAuthenticationFilter implements WebFilter {
-  private final AuthServiceGrpcClient grpcClient;
+  private final TokenVerifier tokenVerifier;
+  private final TokenValidationCache tokenValidationCache;
   private static final String BEARER_PREFIX = "Bearer ";
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private final List<String> protectedPaths = List.of("/api/v1/weather");
 
-  public JwtAuthenticationFilter(AuthServiceGrpcClient grpcClient) {
-    this.grpcClient = grpcClient;
+  /** Exchange attribute holding the {@code sub} claim of an authenticated request's token. */
+  public static final String SUBJECT_ATTRIBUTE =
+      JwtAuthenticationFilter.class.getName() + ".subject";
+
+  public JwtAuthenticationFilter(
+      TokenVerifier tokenVerifier, TokenValidationCache tokenValidationCache) {
+    this.tokenVerifier = tokenVerifier;
+    this.tokenValidationCache = tokenValidationCache;
   }
 
   @Override
@@ -41,14 +52,22 @@ public class JwtAuthenticationFilter implements WebFilter {
       return exchange.getResponse().setComplete();
     }
 
-    return grpcClient
-        .isAuthenticated(token)
+    Result verified = tokenVerifier.verify(token);
+    Mono<Boolean> authenticated =
+        verified.getVerification() == Verification.UNVERIFIABLE
+            ? tokenValidationCache.isAuthenticated(token)
+            : Mono.just(verified.getVerification() == Verification.VALID);
+
+    return ServerTiming.time("auth", authenticated)
         .flatMap(
             validationResult -> {
               if (!validationResult) {
                 exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                 return exchange.getResponse().setComplete();
               }
+              if (verified.getSubject() != null) {
+                exchange.getAttributes().put(SUBJECT_ATTRIBUTE, verified.getSubject());
+              }
               return chain.filter(exchange);
             })
         .onErrorResume(
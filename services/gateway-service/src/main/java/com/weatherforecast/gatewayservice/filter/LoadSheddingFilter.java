@@ -0,0 +1,45 @@
+package com.weatherforecast.gatewayservice.filter;
+
+import com.weatherforecast.gatewayservice.overload.LoadShedder;
+import com.weatherforecast.gatewayservice.overload.LoadShedder.Admission;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sheds requests the {@link LoadShedder} will not admit with an immediate 503, so they fail fast
+ * instead of queueing behind the gRPC deadline. Runs after rate limiting so abusive clients are
+ * turned away first. Shed requests are counted in {@code gateway.load-shedding.rejections}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class LoadSheddingFilter implements WebFilter {
+  private final LoadShedder loadShedder;
+  private final MeterRegistry meterRegistry;
+
+  public LoadSheddingFilter(LoadShedder loadShedder, MeterRegistry meterRegistry) {
+    this.loadShedder = loadShedder;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    String path = exchange.getRequest().getURI().getPath();
+    Optional<Admission> admission = loadShedder.tryAdmit(path);
+    if (admission.isEmpty()) {
+      meterRegistry.counter("gateway.load-shedding.rejections").increment();
+      exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+      return exchange.getResponse().setComplete();
+    }
+    return chain.filter(exchange).doFinally(signal -> admission.get().complete());
+  }
+}
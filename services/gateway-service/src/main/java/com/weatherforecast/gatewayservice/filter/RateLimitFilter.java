@@ -0,0 +1,111 @@
+package com.weatherforecast.gatewayservice.filter;
+
+import com.weatherforecast.gatewayservice.config.RateLimitProperties;
+import com.weatherforecast.gatewayservice.config.RateLimitProperties.Limit;
+import com.weatherforecast.gatewayservice.config.RateLimitProperties.Route;
+import com.weatherforecast.gatewayservice.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the per-route limits from {@link RateLimitProperties} after authentication, keyed by the
+ * token subject and by client IP. A request only uses up permits when every limit admits it, so a
+ * user is not charged for requests the per-IP limit rejected. Rejected requests get 429 with a
+ * {@code Retry-After} header and are counted in {@code gateway.rate-limit.rejections{route,scope}}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RateLimitFilter implements WebFilter {
+  private final RateLimiter rateLimiter;
+  private final RateLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public RateLimitFilter(
+      RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.rateLimiter = rateLimiter;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    Route route = properties.isEnabled() ? findRoute(exchange) : null;
+    if (route == null) {
+      return chain.filter(exchange);
+    }
+
+    String subject = exchange.getAttribute(JwtAuthenticationFilter.SUBJECT_ATTRIBUTE);
+    String userKey = null;
+    if (subject != null && route.getPerUser() != null) {
+      userKey = "user:" + route.getPath() + ":" + subject;
+      long waitNanos = acquire(userKey, route.getPerUser());
+      if (waitNanos > 0) {
+        return reject(exchange, route, "user", waitNanos);
+      }
+    }
+
+    if (route.getPerIp() != null) {
+      String key = "ip:" + route.getPath() + ":" + clientIp(exchange);
+      long waitNanos = acquire(key, route.getPerIp());
+      if (waitNanos > 0) {
+        if (userKey != null) {
+          rateLimiter.release(userKey, route.getPerUser().getRequestsPerSecond());
+        }
+        return reject(exchange, route, "ip", waitNanos);
+      }
+    }
+
+    return chain.filter(exchange);
+  }
+
+  private Route findRoute(ServerWebExchange exchange) {
+    String path = exchange.getRequest().getURI().getPath();
+    for (Route route : properties.getRoutes()) {
+      if (path.startsWith(route.getPath())) {
+        return route;
+      }
+    }
+    return null;
+  }
+
+  private long acquire(String key, Limit limit) {
+    return rateLimiter.tryAcquire(key, limit.getRequestsPerSecond(), limit.getBurst());
+  }
+
+  private String clientIp(ServerWebExchange exchange) {
+    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+    if (remoteAddress == null) {
+      return "unknown";
+    }
+    return remoteAddress.getAddress() != null
+        ? remoteAddress.getAddress().getHostAddress()
+        : remoteAddress.getHostString();
+  }
+
+  private Mono<Void> reject(ServerWebExchange exchange, Route route, String scope, long waitNanos) {
+    long oneSecond = TimeUnit.SECONDS.toNanos(1);
+    long retryAfterSeconds = Math.max(1, (waitNanos + oneSecond - 1) / oneSecond);
+    log.debug("Rate limited {} request to {}", scope, route.getPath());
+    meterRegistry
+        .counter("gateway.rate-limit.rejections", "route", route.getPath(), "scope", scope)
+        .increment();
+    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    exchange
+        .getResponse()
+        .getHeaders()
+        .set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    return exchange.getResponse().setComplete();
+  }
+}
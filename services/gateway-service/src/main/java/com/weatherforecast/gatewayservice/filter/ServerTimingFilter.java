@@ -0,0 +1,75 @@
+package com.weatherforecast.gatewayservice.filter;
+
+import com.weatherforecast.common.logging.AccessLogSampler;
+import com.weatherforecast.common.timing.ServerTiming;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every request and reports where the time went. Stages recorded by the gateway (auth, cache,
+ * gRPC call, serialization) and by weather-service (Redis, geocoding, OneCall) are returned in a
+ * {@code Server-Timing} header together with the total time to the first byte. Requests picked
+ * by the {@link AccessLogSampler} get one {@code key=value} line with the status, full duration and
+ * stages in the {@code access} log. Runs first so the total covers the other filters.
+ */
+@Slf4j(topic = "access")
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter implements WebFilter {
+  private static final String SERVER_TIMING_HEADER = "Server-Timing";
+  private final boolean headerEnabled;
+  private final AccessLogSampler accessLogSampler;
+
+  public ServerTimingFilter(
+      @Value("${server-timing.header-enabled:true}") boolean headerEnabled,
+      AccessLogSampler accessLogSampler) {
+    this.headerEnabled = headerEnabled;
+    this.accessLogSampler = accessLogSampler;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    long startNanos = System.nanoTime();
+    ServerTiming timing = new ServerTiming();
+    ServerHttpResponse response = exchange.getResponse();
+    response.beforeCommit(
+        () -> {
+          timing.record("total", Duration.ofNanos(System.nanoTime() - startNanos), null);
+          if (headerEnabled) {
+            response.getHeaders().set(SERVER_TIMING_HEADER, timing.toHeaderValue());
+          }
+          return Mono.empty();
+        });
+
+    return chain
+        .filter(exchange)
+        .contextWrite(ServerTiming.recordingTo(timing))
+        .doFinally(
+            signal -> {
+              long durationNanos = System.nanoTime() - startNanos;
+              HttpStatusCode status = response.getStatusCode();
+              int statusCode = status != null ? status.value() : 200;
+              if (log.isInfoEnabled()
+                  && accessLogSampler.shouldLog(statusCode >= 500, durationNanos)) {
+                log.info(
+                    "method={} path={} status={} duration_ms={} server_timing=\"{}\"",
+                    exchange.getRequest().getMethod(),
+                    exchange.getRequest().getURI().getPath(),
+                    statusCode,
+                    String.format(Locale.ROOT, "%.1f", durationNanos / 1e6),
+                    timing.toHeaderValue());
+              }
+            });
+  }
+}
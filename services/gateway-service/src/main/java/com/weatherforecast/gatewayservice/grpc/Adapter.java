@@ -0,0 +1,72 @@
+package com.weatherforecast.gatewayservice.grpc;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto.Alert;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto.Forecast;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.weatherservice.grpc.WeatherDataResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Converts weather-service gRPC messages to the gateway's DTOs. */
+public class Adapter {
+  /**
+   * Maps a weather-service response to the DTO returned to HTTP clients. Current conditions are
+   * only set when the projection asked for them; otherwise they are null rather than zero.
+   *
+   * @param grpcResponse the gRPC response
+   * @param projection the projection the response was requested with
+   * @return the weather data
+   */
+  public static WeatherDataDto toWeatherDataDto(
+      WeatherDataResponse grpcResponse, WeatherProjectionDto projection) {
+    List<Alert> alerts =
+        grpcResponse.getAlertsList().stream()
+            .map(
+                alertData ->
+                    Alert.builder()
+                        .name(alertData.getName())
+                        .description(alertData.getDescription())
+                        .startTime(alertData.getStartTime())
+                        .endTime(alertData.getEndTime())
+                        .build())
+            .collect(Collectors.toList());
+
+    List<Forecast> forecasts =
+        grpcResponse.getForecastList().stream()
+            .map(
+                forecastData ->
+                    Forecast.builder()
+                        .description(forecastData.getDescription())
+                        .temperature(forecastData.getTemperature())
+                        .feelsLike(forecastData.getFeelsLike())
+                        .pressure(forecastData.getPressure())
+                        .humidity(forecastData.getHumidity())
+                        .windSpeed(forecastData.getWindSpeed())
+                        .build())
+            .collect(Collectors.toList());
+
+    var weatherData =
+        WeatherDataDto.builder()
+            .latitude(grpcResponse.getLatitude())
+            .longitude(grpcResponse.getLongitude())
+            .timezone(grpcResponse.getTimezone())
+            .timezoneOffset(grpcResponse.getTimezoneOffset())
+            .version(grpcResponse.getVersion())
+            .fetchedAt(grpcResponse.getFetchedAt() > 0 ? grpcResponse.getFetchedAt() : null)
+            .alerts(alerts)
+            .forecast(forecasts);
+
+    if (projection.isCurrent()) {
+      weatherData
+          .temperature(grpcResponse.getTemperature())
+          .feelsLike(grpcResponse.getFeelsLike())
+          .pressure(grpcResponse.getPressure())
+          .humidity(grpcResponse.getHumidity())
+          .windSpeed(grpcResponse.getWindSpeed())
+          .description(grpcResponse.getDescription());
+    }
+
+    return weatherData.build();
+  }
+}
@@ -1,6 +1,8 @@
 package com.weatherforecast.gatewayservice.grpc;
 
 import com.weatherforecast.gatewayservice.dto.grpc.AuthDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.VerificationKeyDto;
+import java.util.List;
 import reactor.core.publisher.Mono;
 
 public interface AuthServiceGrpcClient {
@@ -10,24 +12,32 @@ public interface AuthServiceGrpcClient {
    *
    * @param username the user identifier used for authentication
    * @param password the user's password for verification
-   * @return AuthDataDto containing authentication data such as token and expiration time
+   * @return Mono<AuthDataDto> containing authentication data such as token and expiration time
    */
-  AuthDataDto login(String username, String password);
+  Mono<AuthDataDto> login(String username, String password);
 
   /**
    * Registers a new user by sending credentials to the authentication service via gRPC.
    *
    * @param username the user identifier for registration
    * @param password the user's password for registration
-   * @return boolean indicating success or failure of the registration process
+   * @return Mono<Boolean> indicating success or failure of the registration process
    */
-  boolean register(String username, String password);
+  Mono<Boolean> register(String username, String password);
 
   /**
    * Validates a JWT token by sending it to the authentication service via gRPC.
    *
    * @param token the JWT token to be validated
-   * @return Mono<Boolean> indicating whether the token is valid or not
+   * @return Mono<Boolean> indicating whether the token is valid or not, or an error if the
+   *     authentication service could not be reached
    */
   Mono<Boolean> isAuthenticated(String token);
+
+  /**
+   * Fetches the keys that verify token signatures from the authentication service via gRPC.
+   *
+   * @return Mono<List<VerificationKeyDto>> containing the current verification keys
+   */
+  Mono<List<VerificationKeyDto>> getVerificationKeys();
 }
@@ -1,6 +1,8 @@
 package com.weatherforecast.gatewayservice.grpc;
 
 import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface WeatherServiceGrpcClient {
@@ -8,16 +10,30 @@ public interface WeatherServiceGrpcClient {
    * Fetches weather data for a given location.
    *
    * @param location the location for which to fetch weather data
+   * @param projection the parts of the weather data to fetch
    * @return a Mono containing the weather data
    */
-  Mono<WeatherDataDto> getWeatherData(String location);
+  Mono<WeatherDataDto> getWeatherData(String location, WeatherProjectionDto projection);
 
   /**
    * Fetches weather data for a given set of coordinates.
    *
    * @param lat the latitude
    * @param lon the longitude
+   * @param projection the parts of the weather data to fetch
    * @return a Mono containing the weather data
    */
-  Mono<WeatherDataDto> getWeatherDataByCoordinates(double lat, double lon);
+  Mono<WeatherDataDto> getWeatherDataByCoordinates(
+      double lat, double lon, WeatherProjectionDto projection);
+
+  /**
+   * Subscribes to updates for the tile containing the given coordinates. The first element is the
+   * full weather data; each later element is the full data after applying an update. The stream
+   * ends when weather-service closes it or fails; callers decide whether to resubscribe.
+   *
+   * @param lat the latitude
+   * @param lon the longitude
+   * @return a Flux of the tile's weather data, one element per update
+   */
+  Flux<WeatherDataDto> streamWeatherUpdates(double lat, double lon);
 }
@@ -0,0 +1,119 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import com.weatherforecast.gatewayservice.config.GrpcDeadlineProperties;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Deadline;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Gives every unary call a deadline derived from the latency its method has recently shown, so a
+ * hung call to a method that normally answers in milliseconds is abandoned long before a fixed
+ * deadline would expire. The deadline is the configured percentile times the multiplier, bounded
+ * by the configured minimum and maximum; a shorter deadline set by the caller still wins. gRPC
+ * sends the remaining time to the server, which bounds its own upstream calls by it.
+ *
+ * <p>Calls that time out are recorded at their deadline, so a method that genuinely slows down
+ * raises its own deadline instead of being cut off at the old one. Cancelled calls and calls that
+ * never reached a server are not recorded. The current deadline per method is exported as {@code
+ * grpc.client.deadline}. Streaming calls are left alone.
+ */
+class AdaptiveDeadlineInterceptor implements ClientInterceptor {
+  private static final String METRIC_NAME = "grpc.client.deadline";
+  private final String channelName;
+  private final GrpcDeadlineProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier clock;
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  AdaptiveDeadlineInterceptor(
+      String channelName, GrpcDeadlineProperties properties, MeterRegistry meterRegistry) {
+    this(channelName, properties, meterRegistry, System::nanoTime);
+  }
+
+  AdaptiveDeadlineInterceptor(
+      String channelName,
+      GrpcDeadlineProperties properties,
+      MeterRegistry meterRegistry,
+      LongSupplier clock) {
+    this.channelName = channelName;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    if (method.getType() != MethodDescriptor.MethodType.UNARY) {
+      return next.newCall(method, callOptions);
+    }
+
+    LatencyHistogram histogram =
+        histograms.computeIfAbsent(method.getFullMethodName(), this::newHistogram);
+    Deadline deadline = Deadline.after(deadlineNanos(histogram), TimeUnit.NANOSECONDS);
+    if (callOptions.getDeadline() != null) {
+      deadline = deadline.minimum(callOptions.getDeadline());
+    }
+
+    long startNanos = clock.getAsLong();
+    return new ForwardingClientCall.SimpleForwardingClientCall<>(
+        next.newCall(method, callOptions.withDeadline(deadline))) {
+      @Override
+      public void start(Listener<RespT> responseListener, Metadata headers) {
+        super.start(
+            new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                record(histogram, status, clock.getAsLong() - startNanos);
+                super.onClose(status, trailers);
+              }
+            },
+            headers);
+      }
+    };
+  }
+
+  private long deadlineNanos(LatencyHistogram histogram) {
+    long maxNanos = properties.getMax().toNanos();
+    long percentileNanos =
+        histogram.percentile(properties.getPercentile(), properties.getMinSamples());
+    if (percentileNanos < 0) {
+      return maxNanos;
+    }
+    long deadlineNanos = (long) (percentileNanos * properties.getMultiplier());
+    return Math.max(properties.getMin().toNanos(), Math.min(maxNanos, deadlineNanos));
+  }
+
+  private static void record(LatencyHistogram histogram, Status status, long elapsedNanos) {
+    switch (status.getCode()) {
+      case CANCELLED:
+      case UNAVAILABLE:
+        break;
+      default:
+        histogram.record(elapsedNanos);
+    }
+  }
+
+  private LatencyHistogram newHistogram(String methodName) {
+    LatencyHistogram histogram = new LatencyHistogram(properties.getWindow().toNanos(), clock);
+    TimeGauge.builder(METRIC_NAME, histogram, TimeUnit.NANOSECONDS, this::deadlineNanos)
+        .tag("channel", channelName)
+        .tag("method", methodName)
+        .register(meterRegistry);
+    return histogram;
+  }
+}
@@ -0,0 +1,57 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.SocketAddress;
+
+/**
+ * Counts completed calls per backend address, so the {@code grpc.client.calls} metric shows how a
+ * channel's traffic is spread across the replicas behind it.
+ */
+class BackendMetricsInterceptor implements ClientInterceptor {
+  private static final String METRIC_NAME = "grpc.client.calls";
+  private final String channelName;
+  private final MeterRegistry meterRegistry;
+
+  BackendMetricsInterceptor(String channelName, MeterRegistry meterRegistry) {
+    this.channelName = channelName;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    ClientCall<ReqT, RespT> call = next.newCall(method, callOptions);
+    return new ForwardingClientCall.SimpleForwardingClientCall<>(call) {
+      @Override
+      public void start(Listener<RespT> responseListener, Metadata headers) {
+        super.start(
+            new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                SocketAddress backend = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+                Counter.builder(METRIC_NAME)
+                    .tag("channel", channelName)
+                    .tag("backend", backend != null ? backend.toString() : "none")
+                    .tag("status", status.getCode().name())
+                    .register(meterRegistry)
+                    .increment();
+                super.onClose(status, trailers);
+              }
+            },
+            headers);
+      }
+    };
+  }
+}
@@ -0,0 +1,21 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import com.weatherforecast.common.timing.ServerTiming;
+import io.grpc.CallOptions;
+import io.grpc.Metadata;
+
+/**
+ * Keys that carry a backend's stage timings into the gateway's {@code Server-Timing} header. A
+ * call made with a recorder under {@link #KEY} has the stages weather-service reports in its
+ * {@code server-timing} trailer appended to that recorder when it closes.
+ */
+public final class BackendTiming {
+  /** The call option holding the recorder the call's backend stages are collected in. */
+  public static final CallOptions.Key<ServerTiming> KEY = CallOptions.Key.create("server-timing");
+
+  /** The trailer in which weather-service reports its stages. */
+  static final Metadata.Key<String> TRAILER =
+      Metadata.Key.of("server-timing", Metadata.ASCII_STRING_MARSHALLER);
+
+  private BackendTiming() {}
+}
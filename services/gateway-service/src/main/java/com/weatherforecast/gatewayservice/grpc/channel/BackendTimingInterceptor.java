@@ -0,0 +1,44 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import com.weatherforecast.common.timing.ServerTiming;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Appends the stages a backend reports in its {@code server-timing} trailer to the recorder set
+ * under {@link BackendTiming#KEY}. Calls without a recorder pass through untouched.
+ */
+class BackendTimingInterceptor implements ClientInterceptor {
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    ServerTiming timing = callOptions.getOption(BackendTiming.KEY);
+    if (timing == null) {
+      return next.newCall(method, callOptions);
+    }
+    return new ForwardingClientCall.SimpleForwardingClientCall<>(
+        next.newCall(method, callOptions)) {
+      @Override
+      public void start(Listener<RespT> responseListener, Metadata headers) {
+        super.start(
+            new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                timing.append(trailers.get(BackendTiming.TRAILER));
+                super.onClose(status, trailers);
+              }
+            },
+            headers);
+      }
+    };
+  }
+}
@@ -0,0 +1,39 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.CallOptions;
+import java.util.Locale;
+
+/**
+ * Affinity keys that pin weather requests for the same place to the same weather-service replica,
+ * so each replica's cache serves a stable share of the key space. Coordinates are quantized to the
+ * 4-decimal tiles the weather-service caches by.
+ */
+public final class CoordinateAffinity {
+  /** The call option read by the {@code coordinate_affinity} load-balancing policy. */
+  public static final CallOptions.Key<String> KEY = CallOptions.Key.create("coordinate-affinity");
+
+  private static final double SCALE = 10_000;
+
+  private CoordinateAffinity() {}
+
+  /**
+   * Builds the affinity key for a coordinate lookup.
+   *
+   * @param latitude the latitude
+   * @param longitude the longitude
+   * @return the key of the tile containing the coordinates
+   */
+  public static String forCoordinates(double latitude, double longitude) {
+    return Math.round(latitude * SCALE) + ":" + Math.round(longitude * SCALE);
+  }
+
+  /**
+   * Builds the affinity key for a location lookup.
+   *
+   * @param location the location name
+   * @return the key of the normalized location name
+   */
+  public static String forLocation(String location) {
+    return "location:" + location.trim().toLowerCase(Locale.ROOT);
+  }
+}
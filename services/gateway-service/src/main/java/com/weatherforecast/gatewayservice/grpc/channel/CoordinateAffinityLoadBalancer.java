@@ -0,0 +1,241 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes each call to the replica chosen by rendezvous hashing of its {@link CoordinateAffinity}
+ * key. Every replica scores every key independently, so adding or removing a replica only moves
+ * the keys that replica wins or owned. Loads are bounded: a replica whose in-flight calls exceed
+ * {@code loadFactor} times the average hands the call to the next-highest scoring replica. Calls
+ * without a key go to the least-loaded replica.
+ *
+ * <p>Each channel runs its own balancer and only counts its own calls. In a pool of N channels
+ * (see {@link PooledManagedChannel}) the bound applies per channel, so a replica can take up to N
+ * times its share before calls overflow; pools using this policy should have a single channel.
+ */
+class CoordinateAffinityLoadBalancer extends LoadBalancer {
+  private final Helper helper;
+  private final Map<EquivalentAddressGroup, Backend> backends = new HashMap<>();
+  private double loadFactor;
+  private Status lastFailure = Status.UNAVAILABLE.withDescription("No backends resolved");
+
+  CoordinateAffinityLoadBalancer(Helper helper) {
+    this.helper = helper;
+  }
+
+  @Override
+  public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    List<EquivalentAddressGroup> addresses = resolvedAddresses.getAddresses();
+    if (addresses.isEmpty()) {
+      handleNameResolutionError(
+          Status.UNAVAILABLE.withDescription("Name resolution returned no addresses"));
+      return;
+    }
+    loadFactor = (Double) resolvedAddresses.getLoadBalancingPolicyConfig();
+
+    Set<EquivalentAddressGroup> resolved = new HashSet<>();
+    for (EquivalentAddressGroup address : addresses) {
+      EquivalentAddressGroup key = new EquivalentAddressGroup(address.getAddresses());
+      resolved.add(key);
+      if (!backends.containsKey(key)) {
+        Subchannel subchannel =
+            helper.createSubchannel(
+                CreateSubchannelArgs.newBuilder().setAddresses(address).build());
+        Backend backend = new Backend(key.toString(), subchannel);
+        backends.put(key, backend);
+        subchannel.start(state -> onSubchannelState(backend, state));
+        subchannel.requestConnection();
+      }
+    }
+
+    Iterator<Map.Entry<EquivalentAddressGroup, Backend>> iterator =
+        backends.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<EquivalentAddressGroup, Backend> entry = iterator.next();
+      if (!resolved.contains(entry.getKey())) {
+        entry.getValue().remove();
+        iterator.remove();
+      }
+    }
+    updateBalancingState();
+  }
+
+  @Override
+  public void handleNameResolutionError(Status error) {
+    lastFailure = error;
+    if (backends.isEmpty()) {
+      helper.updateBalancingState(
+          ConnectivityState.TRANSIENT_FAILURE, new ResultPicker(PickResult.withError(error)));
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    for (Backend backend : backends.values()) {
+      backend.remove();
+    }
+    backends.clear();
+  }
+
+  private void onSubchannelState(Backend backend, ConnectivityStateInfo stateInfo) {
+    ConnectivityState state = stateInfo.getState();
+    if (backend.removed || state == ConnectivityState.SHUTDOWN) {
+      return;
+    }
+    if (state == ConnectivityState.TRANSIENT_FAILURE) {
+      lastFailure = stateInfo.getStatus();
+      helper.refreshNameResolution();
+    }
+    if (state == ConnectivityState.IDLE) {
+      backend.subchannel.requestConnection();
+    }
+    backend.state = state;
+    updateBalancingState();
+  }
+
+  private void updateBalancingState() {
+    List<Backend> ready = new ArrayList<>();
+    boolean connecting = false;
+    for (Backend backend : backends.values()) {
+      if (backend.state == ConnectivityState.READY) {
+        ready.add(backend);
+      } else if (backend.state != ConnectivityState.TRANSIENT_FAILURE) {
+        connecting = true;
+      }
+    }
+
+    if (!ready.isEmpty()) {
+      helper.updateBalancingState(ConnectivityState.READY, new Picker(ready, loadFactor));
+    } else if (connecting) {
+      helper.updateBalancingState(
+          ConnectivityState.CONNECTING, new ResultPicker(PickResult.withNoResult()));
+    } else {
+      helper.updateBalancingState(
+          ConnectivityState.TRANSIENT_FAILURE,
+          new ResultPicker(PickResult.withError(lastFailure)));
+    }
+  }
+
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ b) * 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long mix(long hash) {
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  private static final class Backend {
+    private final long hash;
+    private final Subchannel subchannel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ClientStreamTracer.Factory tracerFactory;
+    private ConnectivityState state = ConnectivityState.IDLE;
+    private boolean removed;
+
+    private Backend(String address, Subchannel subchannel) {
+      this.hash = CoordinateAffinityLoadBalancer.hash(address);
+      this.subchannel = subchannel;
+      this.tracerFactory =
+          new ClientStreamTracer.Factory() {
+            @Override
+            public ClientStreamTracer newClientStreamTracer(
+                ClientStreamTracer.StreamInfo info, Metadata headers) {
+              inFlight.incrementAndGet();
+              return new ClientStreamTracer() {
+                @Override
+                public void streamClosed(Status status) {
+                  inFlight.decrementAndGet();
+                }
+              };
+            }
+          };
+    }
+
+    private void remove() {
+      removed = true;
+      subchannel.shutdown();
+    }
+  }
+
+  private static final class ResultPicker extends SubchannelPicker {
+    private final PickResult result;
+
+    private ResultPicker(PickResult result) {
+      this.result = result;
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      return result;
+    }
+  }
+
+  private static final class Picker extends SubchannelPicker {
+    private final List<Backend> ready;
+    private final double loadFactor;
+
+    private Picker(List<Backend> ready, double loadFactor) {
+      this.ready = ready;
+      this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      String key = args.getCallOptions().getOption(CoordinateAffinity.KEY);
+      Backend backend = key == null ? leastLoaded() : rendezvous(key);
+      return PickResult.withSubchannel(backend.subchannel, backend.tracerFactory);
+    }
+
+    private Backend rendezvous(String key) {
+      int total = 0;
+      for (Backend backend : ready) {
+        total += backend.inFlight.get();
+      }
+      // At least one replica is always within this bound, since the loads sum to less than it.
+      double capacity = Math.ceil(loadFactor * (total + 1) / ready.size());
+
+      long keyHash = hash(key);
+      Backend chosen = null;
+      long chosenScore = Long.MIN_VALUE;
+      for (Backend backend : ready) {
+        long score = mix(keyHash ^ backend.hash);
+        if (backend.inFlight.get() <= capacity && (chosen == null || score > chosenScore)) {
+          chosen = backend;
+          chosenScore = score;
+        }
+      }
+      return chosen != null ? chosen : leastLoaded();
+    }
+
+    private Backend leastLoaded() {
+      Backend chosen = ready.get(0);
+      for (Backend backend : ready) {
+        if (backend.inFlight.get() < chosen.inFlight.get()) {
+          chosen = backend;
+        }
+      }
+      return chosen;
+    }
+  }
+}
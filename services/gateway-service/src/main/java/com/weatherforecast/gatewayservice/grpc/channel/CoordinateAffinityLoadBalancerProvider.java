@@ -0,0 +1,58 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.protobuf.services.HealthCheckingLoadBalancerUtil;
+import java.util.Map;
+
+/**
+ * Registers the {@code coordinate_affinity} load-balancing policy. The optional {@code loadFactor}
+ * setting bounds how far above the average in-flight load a replica may go before requests
+ * overflow to the next replica in the key's preference order.
+ */
+public class CoordinateAffinityLoadBalancerProvider extends LoadBalancerProvider {
+  public static final String POLICY_NAME = "coordinate_affinity";
+  private static final double DEFAULT_LOAD_FACTOR = 1.25;
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return POLICY_NAME;
+  }
+
+  @Override
+  public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+    return HealthCheckingLoadBalancerUtil.newHealthCheckingLoadBalancer(
+        new LoadBalancer.Factory() {
+          @Override
+          public LoadBalancer newLoadBalancer(LoadBalancer.Helper healthCheckingHelper) {
+            return new CoordinateAffinityLoadBalancer(healthCheckingHelper);
+          }
+        },
+        helper);
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    Object loadFactor = rawConfig.get("loadFactor");
+    if (loadFactor == null) {
+      return ConfigOrError.fromConfig(DEFAULT_LOAD_FACTOR);
+    }
+    if (!(loadFactor instanceof Double) || (Double) loadFactor < 1.0) {
+      return ConfigOrError.fromError(
+          Status.UNAVAILABLE.withDescription("loadFactor must be a number of at least 1"));
+    }
+    return ConfigOrError.fromConfig(loadFactor);
+  }
+}
@@ -0,0 +1,117 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import com.weatherforecast.gatewayservice.config.GrpcChannelProperties;
+import com.weatherforecast.gatewayservice.config.GrpcDeadlineProperties;
+import io.grpc.ClientInterceptor;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.NameResolverRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the gateway's gRPC channels to backend services. Targets are resolved either through DNS
+ * ({@code dns:///host:port}, every address record becomes a backend) or from a fixed list ({@code
+ * static:///host1:port,host2:port}), and calls are spread over the resolved backends by the
+ * configured load-balancing policy: {@code round_robin}, {@code pick_first}, or {@code
+ * coordinate_affinity}, which pins each place to one replica (see {@link CoordinateAffinity}).
+ *
+ * <p>Backends are health checked through the standard gRPC health service, so a replica reporting
+ * NOT_SERVING for the checked service stops receiving calls until it recovers. Health checking
+ * applies to {@code round_robin} and {@code coordinate_affinity}; {@code pick_first} ignores it.
+ *
+ * <p>Unary calls get a deadline adapted to the recent latency of their method (see {@link
+ * AdaptiveDeadlineInterceptor}). Each backend service is reached through a pool of channels, so
+ * its calls are spread over several connections per replica (see {@link PooledManagedChannel}).
+ * Stage timings reported by the backend are collected for the {@code Server-Timing} header (see
+ * {@link BackendTiming}), and every call is observed as a client span whose W3C trace context is
+ * sent in the call's headers.
+ */
+@Slf4j
+@Component
+public class GrpcChannelFactory {
+  private static final AtomicBoolean PROVIDERS_REGISTERED = new AtomicBoolean();
+  private final MeterRegistry meterRegistry;
+  private final ObservationRegistry observationRegistry;
+  private final GrpcDeadlineProperties deadlineProperties;
+  private final GrpcChannelProperties channelProperties;
+
+  public GrpcChannelFactory(
+      MeterRegistry meterRegistry,
+      ObservationRegistry observationRegistry,
+      GrpcDeadlineProperties deadlineProperties,
+      GrpcChannelProperties channelProperties) {
+    this.meterRegistry = meterRegistry;
+    this.observationRegistry = observationRegistry;
+    this.deadlineProperties = deadlineProperties;
+    this.channelProperties = channelProperties;
+    if (PROVIDERS_REGISTERED.compareAndSet(false, true)) {
+      NameResolverRegistry.getDefaultRegistry().register(new StaticNameResolverProvider());
+      LoadBalancerRegistry.getDefaultRegistry()
+          .register(new CoordinateAffinityLoadBalancerProvider());
+    }
+  }
+
+  /**
+   * Creates a pool of load-balanced, health-checked channels.
+   *
+   * @param name the channel name used in logs and metrics
+   * @param target the target to resolve, such as {@code dns:///weather-service:6565}
+   * @param loadBalancingPolicy the gRPC load-balancing policy, such as {@code round_robin}
+   * @param healthCheckedService the fully qualified service name to health check
+   * @param poolSize the number of channels to pool, or 0 or less for one per available core
+   * @return the channel
+   */
+  public ManagedChannel create(
+      String name,
+      String target,
+      String loadBalancingPolicy,
+      String healthCheckedService,
+      int poolSize) {
+    int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    log.info(
+        "Creating {} gRPC channels {} to {} using {}", size, name, target, loadBalancingPolicy);
+    ClientInterceptor backendMetrics = new BackendMetricsInterceptor(name, meterRegistry);
+    ClientInterceptor adaptiveDeadline =
+        new AdaptiveDeadlineInterceptor(name, deadlineProperties, meterRegistry);
+    ClientInterceptor backendTiming = new BackendTimingInterceptor();
+    ClientInterceptor tracing = new ObservationGrpcClientInterceptor(observationRegistry);
+
+    List<ManagedChannel> channels = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ManagedChannel channel =
+          ManagedChannelBuilder.forTarget(target)
+              .usePlaintext()
+              .defaultServiceConfig(serviceConfig(loadBalancingPolicy, healthCheckedService))
+              .keepAliveTime(channelProperties.getKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+              .keepAliveTimeout(
+                  channelProperties.getKeepAliveTimeout().toNanos(), TimeUnit.NANOSECONDS)
+              .keepAliveWithoutCalls(channelProperties.isKeepAliveWithoutCalls())
+              .intercept(backendTiming, backendMetrics, adaptiveDeadline, tracing)
+              .build();
+      if (channelProperties.isWarmUp()) {
+        channel.getState(true);
+      }
+      channels.add(channel);
+    }
+    return new PooledManagedChannel(name, channels, meterRegistry);
+  }
+
+  private static Map<String, Object> serviceConfig(
+      String loadBalancingPolicy, String healthCheckedService) {
+    return Map.of(
+        "loadBalancingConfig",
+        List.of(Map.of(loadBalancingPolicy, Map.of())),
+        "healthCheckConfig",
+        Map.of("serviceName", healthCheckedService));
+  }
+}
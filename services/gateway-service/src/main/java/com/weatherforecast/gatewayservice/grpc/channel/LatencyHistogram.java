@@ -0,0 +1,110 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A rolling latency histogram with exponentially sized buckets, each 10% wider than the one before,
+ * so percentiles are accurate to about 10% between 100 microseconds and a minute. Samples go into
+ * the current of two windows; once a window has passed the older one is cleared and becomes
+ * current, so percentiles always cover the last one to two windows.
+ */
+class LatencyHistogram {
+  private static final long MIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final long MAX_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final double LOG_GROWTH = Math.log(1.1);
+  private static final int BUCKETS =
+      2 + (int) Math.ceil(Math.log((double) MAX_NANOS / MIN_NANOS) / LOG_GROWTH);
+
+  private final long windowNanos;
+  private final LongSupplier clock;
+  private final AtomicLongArray[] windows = {
+    new AtomicLongArray(BUCKETS), new AtomicLongArray(BUCKETS)
+  };
+  private volatile int current;
+  private volatile long windowStart;
+
+  LatencyHistogram(long windowNanos, LongSupplier clock) {
+    this.windowNanos = windowNanos;
+    this.clock = clock;
+    this.windowStart = clock.getAsLong();
+  }
+
+  void record(long nanos) {
+    rotate();
+    windows[current].incrementAndGet(bucket(nanos));
+  }
+
+  /**
+   * Estimates a latency percentile from the samples in both windows.
+   *
+   * @param percentile the percentile, between 0 and 1
+   * @param minSamples the samples needed before the estimate is trusted
+   * @return the upper bound of the bucket holding the percentile in nanoseconds, or -1 if there
+   *     are fewer than {@code minSamples} samples
+   */
+  long percentile(double percentile, int minSamples) {
+    rotate();
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (AtomicLongArray window : windows) {
+      for (int i = 0; i < BUCKETS; i++) {
+        long count = window.get(i);
+        counts[i] += count;
+        total += count;
+      }
+    }
+    if (total == 0 || total < minSamples) {
+      return -1;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(BUCKETS - 1);
+  }
+
+  private void rotate() {
+    long now = clock.getAsLong();
+    if (now - windowStart < windowNanos) {
+      return;
+    }
+    synchronized (this) {
+      long elapsed = now - windowStart;
+      if (elapsed < windowNanos) {
+        return;
+      }
+      int next = 1 - current;
+      clear(windows[next]);
+      if (elapsed >= 2 * windowNanos) {
+        clear(windows[current]);
+      }
+      current = next;
+      windowStart = now;
+    }
+  }
+
+  private static void clear(AtomicLongArray window) {
+    for (int i = 0; i < BUCKETS; i++) {
+      window.set(i, 0);
+    }
+  }
+
+  private static int bucket(long nanos) {
+    if (nanos <= MIN_NANOS) {
+      return 0;
+    }
+    int bucket = (int) Math.ceil(Math.log((double) nanos / MIN_NANOS) / LOG_GROWTH);
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  private static long upperBound(int bucket) {
+    return (long) Math.ceil(MIN_NANOS * Math.exp(bucket * LOG_GROWTH));
+  }
+}
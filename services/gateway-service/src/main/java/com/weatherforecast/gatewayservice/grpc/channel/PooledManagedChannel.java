@@ -0,0 +1,170 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed pool of channels to the same target, each holding its own HTTP/2 connection to every
+ * backend. Each call goes to the channel with the fewest calls in flight, with ties broken round
+ * robin, so concurrent calls are spread over several connections and event loops instead of
+ * queueing behind one connection's {@code MAX_CONCURRENT_STREAMS} limit and TCP window. Calls in
+ * flight per pooled channel are exported as {@code grpc.client.channel.active-calls}.
+ */
+class PooledManagedChannel extends ManagedChannel {
+  private static final String METRIC_NAME = "grpc.client.channel.active-calls";
+  private final List<ManagedChannel> channels;
+  private final AtomicInteger[] activeCalls;
+  private final AtomicInteger nextChannel = new AtomicInteger();
+
+  PooledManagedChannel(String name, List<ManagedChannel> channels, MeterRegistry meterRegistry) {
+    if (channels.isEmpty()) {
+      throw new IllegalArgumentException("A channel pool needs at least one channel");
+    }
+    this.channels = List.copyOf(channels);
+    this.activeCalls = new AtomicInteger[channels.size()];
+    for (int i = 0; i < activeCalls.length; i++) {
+      activeCalls[i] = new AtomicInteger();
+      Gauge.builder(METRIC_NAME, activeCalls[i], AtomicInteger::get)
+          .tag("channel", name)
+          .tag("connection", Integer.toString(i))
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    int index = leastLoaded();
+    AtomicInteger active = activeCalls[index];
+    return new ForwardingClientCall.SimpleForwardingClientCall<>(
+        channels.get(index).newCall(method, callOptions)) {
+      @Override
+      public void start(Listener<RespT> responseListener, Metadata headers) {
+        active.incrementAndGet();
+        try {
+          super.start(
+              new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                  responseListener) {
+                @Override
+                public void onClose(Status status, Metadata trailers) {
+                  active.decrementAndGet();
+                  super.onClose(status, trailers);
+                }
+              },
+              headers);
+        } catch (RuntimeException e) {
+          active.decrementAndGet();
+          throw e;
+        }
+      }
+    };
+  }
+
+  private int leastLoaded() {
+    int size = activeCalls.length;
+    int start = Math.floorMod(nextChannel.getAndIncrement(), size);
+    int best = start;
+    int bestActive = activeCalls[start].get();
+    for (int i = 1; i < size && bestActive > 0; i++) {
+      int index = (start + i) % size;
+      int active = activeCalls[index].get();
+      if (active < bestActive) {
+        best = index;
+        bestActive = active;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public String authority() {
+    return channels.get(0).authority();
+  }
+
+  /**
+   * Returns the best state of any pooled channel, so the pool counts as ready while at least one
+   * of its connections is.
+   */
+  @Override
+  public ConnectivityState getState(boolean requestConnection) {
+    ConnectivityState best = ConnectivityState.SHUTDOWN;
+    for (ManagedChannel channel : channels) {
+      ConnectivityState state = channel.getState(requestConnection);
+      if (rank(state) > rank(best)) {
+        best = state;
+      }
+    }
+    return best;
+  }
+
+  private static int rank(ConnectivityState state) {
+    switch (state) {
+      case READY:
+        return 4;
+      case CONNECTING:
+        return 3;
+      case IDLE:
+        return 2;
+      case TRANSIENT_FAILURE:
+        return 1;
+      default:
+        return 0;
+    }
+  }
+
+  @Override
+  public void resetConnectBackoff() {
+    channels.forEach(ManagedChannel::resetConnectBackoff);
+  }
+
+  @Override
+  public void enterIdle() {
+    channels.forEach(ManagedChannel::enterIdle);
+  }
+
+  @Override
+  public ManagedChannel shutdown() {
+    channels.forEach(ManagedChannel::shutdown);
+    return this;
+  }
+
+  @Override
+  public ManagedChannel shutdownNow() {
+    channels.forEach(ManagedChannel::shutdownNow);
+    return this;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return channels.stream().allMatch(ManagedChannel::isShutdown);
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return channels.stream().allMatch(ManagedChannel::isTerminated);
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (ManagedChannel channel : channels) {
+      long remaining = deadline - System.nanoTime();
+      if (!channel.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
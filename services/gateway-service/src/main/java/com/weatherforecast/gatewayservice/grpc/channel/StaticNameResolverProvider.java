@@ -0,0 +1,96 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.Status;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves {@code static:///host1:port,host2:port} targets to a fixed list of backends. Useful
+ * where replicas are not published through DNS, and for running several local servers side by
+ * side.
+ */
+public class StaticNameResolverProvider extends NameResolverProvider {
+  public static final String SCHEME = "static";
+
+  @Override
+  protected boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  protected int priority() {
+    return 5;
+  }
+
+  @Override
+  public String getDefaultScheme() {
+    return SCHEME;
+  }
+
+  @Override
+  public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+    if (!SCHEME.equals(targetUri.getScheme())) {
+      return null;
+    }
+    String path = targetUri.getPath();
+    return new StaticNameResolver(path.startsWith("/") ? path.substring(1) : path);
+  }
+
+  private static final class StaticNameResolver extends NameResolver {
+    private final String addresses;
+    private Listener2 listener;
+
+    private StaticNameResolver(String addresses) {
+      this.addresses = addresses;
+    }
+
+    @Override
+    public String getServiceAuthority() {
+      int separator = addresses.indexOf(',');
+      return separator < 0 ? addresses : addresses.substring(0, separator);
+    }
+
+    @Override
+    public void start(Listener2 listener) {
+      this.listener = listener;
+      resolve();
+    }
+
+    @Override
+    public void refresh() {
+      resolve();
+    }
+
+    @Override
+    public void shutdown() {}
+
+    private void resolve() {
+      List<EquivalentAddressGroup> groups = new ArrayList<>();
+      for (String address : addresses.split(",")) {
+        String hostAndPort = address.trim();
+        int separator = hostAndPort.lastIndexOf(':');
+        if (separator <= 0) {
+          listener.onError(
+              Status.UNAVAILABLE.withDescription("Invalid static address: " + hostAndPort));
+          return;
+        }
+        InetSocketAddress socketAddress =
+            new InetSocketAddress(
+                hostAndPort.substring(0, separator),
+                Integer.parseInt(hostAndPort.substring(separator + 1)));
+        if (socketAddress.isUnresolved()) {
+          listener.onError(
+              Status.UNAVAILABLE.withDescription("Unable to resolve static address: " + address));
+          return;
+        }
+        groups.add(new EquivalentAddressGroup(socketAddress));
+      }
+      listener.onResult(ResolutionResult.newBuilder().setAddresses(groups).build());
+    }
+  }
+}
@@ -7,32 +7,43 @@ import com.weatherforecast.authservice.grpc.RegisterRequest;
 import com.weatherforecast.authservice.grpc.RegistrationResponse;
 import com.weatherforecast.authservice.grpc.TokenValidationRequest;
 import com.weatherforecast.authservice.grpc.TokenValidationResponse;
+import com.weatherforecast.authservice.grpc.VerificationKeysRequest;
+import com.weatherforecast.authservice.grpc.VerificationKeysResponse;
 import com.weatherforecast.gatewayservice.dto.grpc.AuthDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.VerificationKeyDto;
 import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import com.weatherforecast.gatewayservice.grpc.channel.GrpcChannelFactory;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import jakarta.annotation.PreDestroy;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 @Slf4j
 @Service
 public class AuthServiceGrpcClientImpl implements AuthServiceGrpcClient {
   private final ManagedChannel channel;
-  private final AuthServiceGrpc.AuthServiceBlockingStub stub;
   private final AuthServiceGrpc.AuthServiceStub asyncStub;
   private static final int channelTerminationTimeout = 5;
 
   public AuthServiceGrpcClientImpl(
-      @Value("${grpc.client.auth-service.address}") String address, CircuitBreaker circuitBreaker) {
-    this.channel = ManagedChannelBuilder.forTarget(address).usePlaintext().build();
-    this.stub = AuthServiceGrpc.newBlockingStub(channel);
+      @Value("${grpc.client.auth-service.address}") String address,
+      @Value("${grpc.client.auth-service.load-balancing-policy:round_robin}")
+          String loadBalancingPolicy,
+      @Value("${grpc.client.auth-service.pool-size:0}") int poolSize,
+      GrpcChannelFactory channelFactory) {
+    this.channel =
+        channelFactory.create(
+            "auth-service", address, loadBalancingPolicy, AuthServiceGrpc.SERVICE_NAME, poolSize);
     this.asyncStub = AuthServiceGrpc.newStub(channel);
   }
 
@@ -57,77 +68,139 @@ public class AuthServiceGrpcClientImpl implements AuthServiceGrpcClient {
   }
 
   @Override
-  public AuthDataDto login(String username, String password) {
+  public Mono<AuthDataDto> login(String username, String password) {
     log.info("Sending login request to auth service for username: {}", username);
-    try {
-      LoginRequest request =
-          LoginRequest.newBuilder().setUsername(username).setPassword(password).build();
-      AuthResponse response =
-          stub.withDeadlineAfter(channelTerminationTimeout, TimeUnit.SECONDS).login(request);
-
-      log.info("Login attempt processed for username: {}", username);
-      return mapGrpcAuthResponseToDto(response);
-    } catch (StatusRuntimeException e) {
-      log.warn("Authentication failed for username: {}, error: {}", username, e.getMessage());
-      return AuthDataDto.builder().success(false).build();
-    }
+    LoginRequest request =
+        LoginRequest.newBuilder().setUsername(username).setPassword(password).build();
+
+    return ObservedCalls.<AuthResponse>create(
+            sink -> asyncStub.login(request, toSinkObserver(sink)))
+        .map(
+            response -> {
+              log.info("Login attempt processed for username: {}", username);
+              return mapGrpcAuthResponseToDto(response);
+            })
+        .onErrorResume(
+            StatusRuntimeException.class,
+            e -> {
+              log.warn(
+                  "Authentication failed for username: {}, error: {}", username, e.getMessage());
+              return Mono.just(AuthDataDto.builder().success(false).build());
+            });
   }
 
   @Override
-  public boolean register(String username, String password) {
+  public Mono<Boolean> register(String username, String password) {
     log.info("Sending registration request to auth service for username: {}", username);
-    try {
-      RegisterRequest request =
-          RegisterRequest.newBuilder().setUsername(username).setPassword(password).build();
-
-      RegistrationResponse response =
-          stub.withDeadlineAfter(channelTerminationTimeout, TimeUnit.SECONDS).register(request);
-
-      log.info("Registration attempt processed for username: {}", username);
-      return response.getSuccess();
-    } catch (StatusRuntimeException e) {
-      log.warn("Registration failed for username: {}, error: {}", username, e.getMessage());
-      return false;
-    }
+    RegisterRequest request =
+        RegisterRequest.newBuilder().setUsername(username).setPassword(password).build();
+
+    return ObservedCalls.<RegistrationResponse>create(
+            sink -> asyncStub.register(request, toSinkObserver(sink)))
+        .map(
+            response -> {
+              log.info("Registration attempt processed for username: {}", username);
+              return response.getSuccess();
+            })
+        .onErrorResume(
+            StatusRuntimeException.class,
+            e -> {
+              log.warn("Registration failed for username: {}, error: {}", username, e.getMessage());
+              return Mono.just(false);
+            });
   }
 
   @Override
   public Mono<Boolean> isAuthenticated(String token) {
-    log.info("Sending authentication check request to auth service for token: {}", token);
+    log.debug("Sending authentication check request to auth service");
 
-    return Mono.create(
+    return ObservedCalls.create(
         sink -> {
           TokenValidationRequest request =
               TokenValidationRequest.newBuilder().setToken(token).build();
 
-          asyncStub
-              .withDeadlineAfter(channelTerminationTimeout, TimeUnit.SECONDS)
-              .validateToken(
-                  request,
-                  new StreamObserver<TokenValidationResponse>() {
-                    @Override
-                    public void onNext(TokenValidationResponse response) {
-                      log.info("Authentication check processed for token: {}", token);
-                      sink.success(response.getValid());
-                    }
-
-                    @Override
-                    public void onError(Throwable t) {
-                      log.warn(
-                          "Authentication check failed for token: {}, error: {}",
-                          token,
-                          t.getMessage());
-                      sink.success(false);
-                    }
-
-                    @Override
-                    public void onCompleted() {
-                      log.info("Completed authentication check for token: {}", token);
-                    }
-                  });
+          asyncStub.validateToken(
+              request,
+              new StreamObserver<TokenValidationResponse>() {
+                @Override
+                public void onNext(TokenValidationResponse response) {
+                  sink.success(response.getValid());
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                  log.warn("Authentication check failed: {}", t.getMessage());
+                  sink.error(t);
+                }
+
+                @Override
+                public void onCompleted() {}
+              });
         });
   }
 
+  @Override
+  public Mono<List<VerificationKeyDto>> getVerificationKeys() {
+    return ObservedCalls.create(
+        sink ->
+            asyncStub.getVerificationKeys(
+                VerificationKeysRequest.getDefaultInstance(),
+                new StreamObserver<VerificationKeysResponse>() {
+                  @Override
+                  public void onNext(VerificationKeysResponse response) {
+                    log.info("Received {} verification keys", response.getKeysCount());
+                    sink.success(
+                        response.getKeysList().stream()
+                            .map(
+                                key ->
+                                    VerificationKeyDto.builder()
+                                        .keyId(key.getKeyId())
+                                        .algorithm(key.getAlgorithm())
+                                        .key(key.getKey().toByteArray())
+                                        .build())
+                            .collect(Collectors.toList()));
+                  }
+
+                  @Override
+                  public void onError(Throwable t) {
+                    log.warn("Fetching verification keys failed: {}", t.getMessage());
+                    sink.error(t);
+                  }
+
+                  @Override
+                  public void onCompleted() {}
+                }));
+  }
+
+  /**
+   * Completes the sink with the call's response, and cancels the call when the subscriber cancels
+   * before it completes.
+   */
+  private static <ReqT, RespT> ClientResponseObserver<ReqT, RespT> toSinkObserver(
+      MonoSink<RespT> sink) {
+    return new ClientResponseObserver<ReqT, RespT>() {
+      @Override
+      public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+        sink.onCancel(() -> requestStream.cancel("Cancelled by caller", null));
+      }
+
+      @Override
+      public void onNext(RespT response) {
+        sink.success(response);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        sink.error(t);
+      }
+
+      @Override
+      public void onCompleted() {
+        sink.success();
+      }
+    };
+  }
+
   private AuthDataDto mapGrpcAuthResponseToDto(AuthResponse response) {
     var dto =
         AuthDataDto.builder()
@@ -0,0 +1,54 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.util.function.Consumer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Bridges gRPC calls into Reactor with the subscriber's observation restored while the call
+ * starts. The gRPC client interceptor reads the current observation from a thread local, so this
+ * makes the call's span a child of that observation and sends the W3C trace context with it. For
+ * unary calls that is the shared call's own observation (see {@link SharedCalls}); for streams it
+ * is the HTTP request's.
+ */
+final class ObservedCalls {
+  private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+  private ObservedCalls() {}
+
+  /**
+   * Like {@link Mono#create(Consumer)}, with the subscriber's thread locals restored while the
+   * callback starts the call.
+   *
+   * @param call starts the call and completes the sink
+   * @return a Mono of the call's result
+   */
+  static <T> Mono<T> create(Consumer<MonoSink<T>> call) {
+    return Mono.create(
+        sink -> {
+          try (ContextSnapshot.Scope scope = SNAPSHOTS.setThreadLocalsFrom(sink.contextView())) {
+            call.accept(sink);
+          }
+        });
+  }
+
+  /**
+   * Like {@link Flux#create(Consumer)}, with the subscriber's thread locals restored while the
+   * callback starts the call.
+   *
+   * @param call starts the call and feeds the sink
+   * @return a Flux of the call's messages
+   */
+  static <T> Flux<T> stream(Consumer<FluxSink<T>> call) {
+    return Flux.create(
+        sink -> {
+          try (ContextSnapshot.Scope scope = SNAPSHOTS.setThreadLocalsFrom(sink.contextView())) {
+            call.accept(sink);
+          }
+        });
+  }
+}
@@ -0,0 +1,117 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import com.weatherforecast.common.timing.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.Value;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Shares unary calls among concurrent requests for the same key (see {@link SingleFlight}) without
+ * tying a shared call to the request that happened to start it. The call runs without any caller's
+ * context, under an observation of its own, and collects the stages the backend reports in a
+ * recorder of its own. Each request then appends those stages to its own {@code Server-Timing}
+ * and records its own span, a child of its request linked to the shared call's span, when it
+ * receives the result. A request that cancels records nothing, while the others still do.
+ */
+class SharedCalls<T> {
+  private final SingleFlight<Result<T>> singleFlight;
+  private final ObservationRegistry observationRegistry;
+  private final Tracer tracer;
+
+  SharedCalls(Counter coalesced, ObservationRegistry observationRegistry, Tracer tracer) {
+    this.singleFlight = new SingleFlight<>(coalesced);
+    this.observationRegistry = observationRegistry;
+    this.tracer = tracer;
+  }
+
+  /**
+   * Joins the in-flight call for the key, or starts one if there is none.
+   *
+   * @param key identifies calls that return the same result
+   * @param name names the shared call's observation and each request's span
+   * @param call starts the call, passing the given recorder to {@code BackendTiming.KEY}
+   * @return a Mono of the shared call's result
+   */
+  Mono<T> execute(String key, String name, Function<ServerTiming, Mono<T>> call) {
+    return Mono.deferContextual(
+        context -> {
+          long startMicros = currentTimeMicros();
+          return singleFlight
+              .execute(key, () -> start(name, call))
+              .doOnNext(result -> record(context, name, startMicros, result))
+              .map(Result::getValue);
+        });
+  }
+
+  private Mono<Result<T>> start(String name, Function<ServerTiming, Mono<T>> call) {
+    ServerTiming backendTiming = new ServerTiming();
+    Observation observation =
+        Observation.createNotStarted(name, observationRegistry).parentObservation(null).start();
+    TraceContext trace;
+    try (Observation.Scope scope = observation.openScope()) {
+      Span span = tracer.currentSpan();
+      trace = span != null ? span.context() : null;
+    }
+
+    return call.apply(backendTiming)
+        .map(value -> new Result<>(value, backendTiming.toHeaderValue(), trace))
+        .doOnError(observation::error)
+        .doFinally(signal -> observation.stop())
+        .contextWrite(context -> Context.of(ObservationThreadLocalAccessor.KEY, observation));
+  }
+
+  private void record(ContextView context, String name, long startMicros, Result<T> result) {
+    ServerTiming timing = ServerTiming.current(context);
+    if (timing != null) {
+      timing.append(result.getBackendTiming());
+    }
+
+    Observation parent = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+    if (parent == null) {
+      return;
+    }
+    Span parentSpan;
+    try (Observation.Scope scope = parent.openScope()) {
+      parentSpan = tracer.currentSpan();
+    }
+    if (parentSpan == null) {
+      return;
+    }
+    Span.Builder span =
+        tracer
+            .spanBuilder()
+            .setParent(parentSpan.context())
+            .name(name)
+            .startTimestamp(startMicros, TimeUnit.MICROSECONDS);
+    if (result.getTrace() != null) {
+      span.addLink(new Link(result.getTrace()));
+    }
+    span.start().end();
+  }
+
+  private static long currentTimeMicros() {
+    return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+  }
+
+  @Value
+  private static class Result<T> {
+    T value;
+
+    /** The stages the backend reported, formatted as a {@code Server-Timing} header value. */
+    String backendTiming;
+
+    /** The span of the shared call, or null when it is not traced. */
+    TraceContext trace;
+  }
+}
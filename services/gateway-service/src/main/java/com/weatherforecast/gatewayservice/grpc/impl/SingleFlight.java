@@ -0,0 +1,50 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares one in-flight call among concurrent callers of the same key. The call starts with the
+ * first caller, is cancelled once every caller has cancelled, and is forgotten as soon as it
+ * completes, fails or is cancelled, so results are never reused after the fact.
+ */
+class SingleFlight<T> {
+  private final Map<String, Mono<T>> inFlight = new ConcurrentHashMap<>();
+  private final Counter coalesced;
+
+  SingleFlight(Counter coalesced) {
+    this.coalesced = coalesced;
+  }
+
+  /**
+   * Joins the in-flight call for the key, or starts one with the supplier if there is none.
+   *
+   * @param key identifies calls that return the same result
+   * @param call starts the call
+   * @return a Mono of the shared call's result
+   */
+  Mono<T> execute(String key, Supplier<Mono<T>> call) {
+    return Mono.defer(
+        () -> {
+          AtomicReference<Mono<T>> created = new AtomicReference<>();
+          Mono<T> shared =
+              inFlight.computeIfAbsent(
+                  key,
+                  k -> {
+                    created.set(
+                        Mono.defer(call)
+                            .doFinally(signal -> inFlight.remove(k, created.get()))
+                            .share());
+                    return created.get();
+                  });
+          if (shared != created.get()) {
+            coalesced.increment();
+          }
+          return shared;
+        });
+  }
+}
@@ -1,27 +1,39 @@
 package com.weatherforecast.gatewayservice.grpc.impl;
 
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.gatewayservice.cache.LastKnownGoodWeatherStore;
 import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
-import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto.Alert;
-import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto.Forecast;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.gatewayservice.grpc.Adapter;
 import com.weatherforecast.gatewayservice.grpc.WeatherServiceGrpcClient;
+import com.weatherforecast.gatewayservice.grpc.channel.BackendTiming;
+import com.weatherforecast.gatewayservice.grpc.channel.CoordinateAffinity;
+import com.weatherforecast.gatewayservice.grpc.channel.GrpcChannelFactory;
 import com.weatherforecast.weatherservice.grpc.CoordinatesRequest;
 import com.weatherforecast.weatherservice.grpc.LocationRequest;
 import com.weatherforecast.weatherservice.grpc.WeatherDataResponse;
+import com.weatherforecast.weatherservice.grpc.WeatherProjection;
 import com.weatherforecast.weatherservice.grpc.WeatherServiceGrpc;
+import com.weatherforecast.weatherservice.grpc.WeatherSubscriptionRequest;
+import com.weatherforecast.weatherservice.grpc.WeatherUpdate;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import io.grpc.stub.StreamObserver;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
 import jakarta.annotation.PreDestroy;
 import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 @Service
 @Slf4j
@@ -30,13 +42,36 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
   private final ManagedChannel channel;
   private static final int channelTerminationTimeout = 5;
   private final CircuitBreaker circuitBreaker;
+  private final LastKnownGoodWeatherStore lastKnownGoodStore;
+  private static final String SHARED_CALL_NAME = "weather-service.fetch";
+  private final SharedCalls<WeatherDataDto> sharedCalls;
 
   public WeatherServiceGrpcClientImpl(
       @Value("${grpc.client.weather-service.address}") String address,
-      CircuitBreaker circuitBreaker) {
-    this.channel = ManagedChannelBuilder.forTarget(address).usePlaintext().build();
+      @Value("${grpc.client.weather-service.load-balancing-policy:coordinate_affinity}")
+          String loadBalancingPolicy,
+      @Value("${grpc.client.weather-service.pool-size:1}") int poolSize,
+      GrpcChannelFactory channelFactory,
+      CircuitBreaker circuitBreaker,
+      LastKnownGoodWeatherStore lastKnownGoodStore,
+      MeterRegistry meterRegistry,
+      ObservationRegistry observationRegistry,
+      Tracer tracer) {
+    this.channel =
+        channelFactory.create(
+            "weather-service",
+            address,
+            loadBalancingPolicy,
+            WeatherServiceGrpc.SERVICE_NAME,
+            poolSize);
     this.asyncStub = WeatherServiceGrpc.newStub(channel);
     this.circuitBreaker = circuitBreaker;
+    this.lastKnownGoodStore = lastKnownGoodStore;
+    this.sharedCalls =
+        new SharedCalls<>(
+            meterRegistry.counter("grpc.client.calls.coalesced", "channel", "weather-service"),
+            observationRegistry,
+            tracer);
   }
 
   @PreDestroy
@@ -60,20 +95,52 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
   }
 
   @Override
-  public Mono<WeatherDataDto> getWeatherData(String location) {
-    return Mono.<WeatherDataDto>create(
+  public Mono<WeatherDataDto> getWeatherData(String location, WeatherProjectionDto projection) {
+    String key = CoordinateAffinity.forLocation(location) + "|" + projection.toKey();
+    return sharedCalls.execute(
+        key,
+        SHARED_CALL_NAME,
+        backendTiming -> fetchWeatherData(location, projection, key, backendTiming));
+  }
+
+  @Override
+  public Mono<WeatherDataDto> getWeatherDataByCoordinates(
+      double lat, double lon, WeatherProjectionDto projection) {
+    String key = CoordinateAffinity.forCoordinates(lat, lon) + "|" + projection.toKey();
+    return sharedCalls.execute(
+        key,
+        SHARED_CALL_NAME,
+        backendTiming -> fetchWeatherDataByCoordinates(lat, lon, projection, key, backendTiming));
+  }
+
+  private Mono<WeatherDataDto> fetchWeatherData(
+      String location, WeatherProjectionDto projection, String key, ServerTiming backendTiming) {
+    return ObservedCalls.<WeatherDataDto>create(
             sink -> {
-              LocationRequest request = LocationRequest.newBuilder().setLocation(location).build();
+              LocationRequest.Builder request = LocationRequest.newBuilder().setLocation(location);
+              if (!WeatherProjectionDto.ALL.equals(projection)) {
+                request.setProjection(toGrpcProjection(projection));
+              }
+              WeatherDataDto known = knownData(key);
+              if (known != null) {
+                request.setKnownVersion(known.getVersion());
+              }
 
-              asyncStub
-                  .withDeadlineAfter(channelTerminationTimeout, TimeUnit.SECONDS)
+              stub(CoordinateAffinity.forLocation(location), backendTiming)
                   .getWeatherDataByLocation(
-                      request,
-                      new StreamObserver<WeatherDataResponse>() {
+                      request.build(),
+                      new ClientResponseObserver<LocationRequest, WeatherDataResponse>() {
+                        private WeatherDataResponse response;
+
+                        @Override
+                        public void beforeStart(
+                            ClientCallStreamObserver<LocationRequest> requestStream) {
+                          sink.onCancel(() -> requestStream.cancel("Cancelled by caller", null));
+                        }
+
                         @Override
                         public void onNext(WeatherDataResponse response) {
-                          log.info("Received weather data for location: {}", location);
-                          sink.success(mapGrpcResponseToDto(response));
+                          this.response = response;
                         }
 
                         @Override
@@ -87,44 +154,66 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
 
                         @Override
                         public void onCompleted() {
-                          log.info("Completed fetching weather data for location: {}", location);
+                          log.debug("Completed fetching weather data for location: {}", location);
+                          complete(sink, response, projection, known);
                         }
                       });
             })
         .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .doOnNext(data -> lastKnownGoodStore.put(key, data))
         .onErrorResume(
             throwable -> {
               log.error(
                   "Circuit breaker triggered while fetching weather data for location: {}",
                   location,
                   throwable);
-              return Mono.just(getFallbackWeatherData(location));
+              return Mono.just(
+                  lastKnownGoodStore
+                      .getStale(key)
+                      .orElseGet(() -> getFallbackWeatherData(location)));
             });
   }
 
-  @Override
-  public Mono<WeatherDataDto> getWeatherDataByCoordinates(double lat, double lon) {
-    return Mono.<WeatherDataDto>create(
+  private Mono<WeatherDataDto> fetchWeatherDataByCoordinates(
+      double lat,
+      double lon,
+      WeatherProjectionDto projection,
+      String key,
+      ServerTiming backendTiming) {
+    return ObservedCalls.<WeatherDataDto>create(
             sink -> {
-              CoordinatesRequest request =
-                  CoordinatesRequest.newBuilder().setLatitude(lat).setLongitude(lon).build();
+              CoordinatesRequest.Builder request =
+                  CoordinatesRequest.newBuilder().setLatitude(lat).setLongitude(lon);
+              if (!WeatherProjectionDto.ALL.equals(projection)) {
+                request.setProjection(toGrpcProjection(projection));
+              }
+              WeatherDataDto known = knownData(key);
+              if (known != null) {
+                request.setKnownVersion(known.getVersion());
+              }
 
-              asyncStub
-                  .withDeadlineAfter(channelTerminationTimeout, TimeUnit.SECONDS)
+              stub(CoordinateAffinity.forCoordinates(lat, lon), backendTiming)
                   .getWeatherData(
-                      request,
-                      new StreamObserver<WeatherDataResponse>() {
+                      request.build(),
+                      new ClientResponseObserver<CoordinatesRequest, WeatherDataResponse>() {
+                        private WeatherDataResponse response;
+
+                        @Override
+                        public void beforeStart(
+                            ClientCallStreamObserver<CoordinatesRequest> requestStream) {
+                          sink.onCancel(() -> requestStream.cancel("Cancelled by caller", null));
+                        }
+
                         @Override
                         public void onNext(WeatherDataResponse response) {
-                          log.info(
-                              "Received weather data for coordinates: lat: {}, lon{}", lat, lon);
-                          sink.success(mapGrpcResponseToDto(response));
+                          this.response = response;
                         }
 
                         @Override
                         public void onError(Throwable t) {
                           log.error(
-                              "Error occurred while fetching weather data for coordinates: lat: {}, lon: {}",
+                              "Error occurred while fetching weather data for "
+                                  + "coordinates: lat: {}, lon: {}",
                               lat,
                               lon,
                               t);
@@ -133,62 +222,187 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
 
                         @Override
                         public void onCompleted() {
-                          log.info(
+                          log.debug(
                               "Completed fetching weather data for coordinates: lat: {}, lon: {}",
                               lat,
                               lon);
+                          complete(sink, response, projection, known);
                         }
                       });
             })
         .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .doOnNext(data -> lastKnownGoodStore.put(key, data))
         .onErrorResume(
             throwable -> {
               log.error(
-                  "Circuit breaker triggered while fetching weather data for coordinates: lat: {}, lon: {}",
+                  "Circuit breaker triggered while fetching weather data for "
+                      + "coordinates: lat: {}, lon: {}",
                   lat,
                   lon,
                   throwable);
-              return Mono.just(getFallbackWeatherDataByCoordinates(lat, lon));
+              return Mono.just(
+                  lastKnownGoodStore
+                      .getStale(key)
+                      .orElseGet(() -> getFallbackWeatherDataByCoordinates(lat, lon)));
             });
   }
 
-  private WeatherDataDto mapGrpcResponseToDto(WeatherDataResponse grpcResponse) {
-    List<Alert> alerts =
-        grpcResponse.getAlertsList().stream()
-            .map(
-                alertData ->
-                    Alert.builder()
-                        .name(alertData.getName())
-                        .description(alertData.getDescription())
-                        .startTime(alertData.getStartTime())
-                        .endTime(alertData.getEndTime())
-                        .build())
-            .collect(Collectors.toList());
-
-    List<Forecast> forecasts =
-        grpcResponse.getForecastList().stream()
-            .map(
-                forecastData ->
-                    Forecast.builder()
-                        .description(forecastData.getDescription())
-                        .temperature(forecastData.getTemperature())
-                        .feelsLike(forecastData.getFeelsLike())
-                        .pressure(forecastData.getPressure())
-                        .humidity(forecastData.getHumidity())
-                        .windSpeed(forecastData.getWindSpeed())
-                        .build())
-            .collect(Collectors.toList());
+  /**
+   * Returns the data recorded for the key when weather-service gave it a version, so the call can
+   * ask weather-service to only send the data again if it changed.
+   */
+  private WeatherDataDto knownData(String key) {
+    return lastKnownGoodStore
+        .get(key)
+        .filter(data -> data.getVersion() != null && !data.getVersion().isEmpty())
+        .orElse(null);
+  }
 
-    return WeatherDataDto.builder()
-        .latitude(grpcResponse.getLatitude())
-        .longitude(grpcResponse.getLongitude())
-        .timezone(grpcResponse.getTimezone())
-        .timezoneOffset(grpcResponse.getTimezoneOffset())
-        .temperature(grpcResponse.getTemperature())
-        .humidity(grpcResponse.getHumidity())
-        .description(grpcResponse.getDescription())
-        .alerts(alerts)
-        .forecast(forecasts)
+  /**
+   * Completes a unary call with its response. A {@code not_modified} reply only carries the
+   * version, so it completes with the data known under that version; one for any other version is
+   * an error rather than empty data.
+   */
+  private static void complete(
+      MonoSink<WeatherDataDto> sink,
+      WeatherDataResponse response,
+      WeatherProjectionDto projection,
+      WeatherDataDto known) {
+    if (response == null) {
+      sink.success();
+    } else if (!response.getNotModified()) {
+      sink.success(Adapter.toWeatherDataDto(response, projection));
+    } else if (known != null && response.getVersion().equals(known.getVersion())) {
+      sink.success(known);
+    } else {
+      sink.error(
+          new IllegalStateException(
+              "weather-service reported unknown version " + response.getVersion() + " unchanged"));
+    }
+  }
+
+  /**
+   * Returns the stub for a unary call, pinned to the replica owning the affinity key. The stages
+   * weather-service reports are added to the shared call's recorder, which every request sharing
+   * the call copies into its own; the result is emitted once the call closes so they arrive first.
+   */
+  private WeatherServiceGrpc.WeatherServiceStub stub(
+      String affinityKey, ServerTiming backendTiming) {
+    return asyncStub
+        .withOption(CoordinateAffinity.KEY, affinityKey)
+        .withOption(BackendTiming.KEY, backendTiming);
+  }
+
+  @Override
+  public Flux<WeatherDataDto> streamWeatherUpdates(double lat, double lon) {
+    WeatherSubscriptionRequest request =
+        WeatherSubscriptionRequest.newBuilder()
+            .addCoordinates(CoordinatesRequest.newBuilder().setLatitude(lat).setLongitude(lon))
+            .build();
+
+    Flux<WeatherUpdate> updates =
+        ObservedCalls.stream(
+            sink ->
+                asyncStub
+                    .withOption(CoordinateAffinity.KEY, CoordinateAffinity.forCoordinates(lat, lon))
+                    .streamWeatherUpdates(
+                        request,
+                        new ClientResponseObserver<WeatherSubscriptionRequest, WeatherUpdate>() {
+                          @Override
+                          public void beforeStart(
+                              ClientCallStreamObserver<WeatherSubscriptionRequest> requestStream) {
+                            sink.onDispose(() -> requestStream.cancel("Unsubscribed", null));
+                          }
+
+                          @Override
+                          public void onNext(WeatherUpdate update) {
+                            sink.next(update);
+                          }
+
+                          @Override
+                          public void onError(Throwable t) {
+                            log.warn(
+                                "Weather update stream failed for lat: {}, lon: {}: {}",
+                                lat,
+                                lon,
+                                t.getMessage());
+                            sink.error(t);
+                          }
+
+                          @Override
+                          public void onCompleted() {
+                            sink.complete();
+                          }
+                        }));
+
+    return Flux.defer(
+        () -> {
+          AtomicReference<WeatherDataDto> current = new AtomicReference<>();
+          return updates.map(update -> current.updateAndGet(data -> applyUpdate(data, update)));
+        });
+  }
+
+  /**
+   * Applies a stream update to the data last received. Snapshots replace it; deltas only replace
+   * the fields named in {@code changed_fields}.
+   */
+  private WeatherDataDto applyUpdate(WeatherDataDto current, WeatherUpdate update) {
+    WeatherDataDto changes = Adapter.toWeatherDataDto(update.getData(), WeatherProjectionDto.ALL);
+    if (update.getSnapshot() || current == null) {
+      return changes;
+    }
+
+    WeatherDataDto.WeatherDataDtoBuilder merged = current.toBuilder();
+    for (String field : update.getChangedFieldsList()) {
+      switch (field) {
+        case "latitude":
+          merged.latitude(changes.getLatitude());
+          break;
+        case "longitude":
+          merged.longitude(changes.getLongitude());
+          break;
+        case "timezone":
+          merged.timezone(changes.getTimezone());
+          break;
+        case "timezone_offset":
+          merged.timezoneOffset(changes.getTimezoneOffset());
+          break;
+        case "description":
+          merged.description(changes.getDescription());
+          break;
+        case "temperature":
+          merged.temperature(changes.getTemperature());
+          break;
+        case "feels_like":
+          merged.feelsLike(changes.getFeelsLike());
+          break;
+        case "pressure":
+          merged.pressure(changes.getPressure());
+          break;
+        case "humidity":
+          merged.humidity(changes.getHumidity());
+          break;
+        case "wind_speed":
+          merged.windSpeed(changes.getWindSpeed());
+          break;
+        case "forecast":
+          merged.forecast(changes.getForecast());
+          break;
+        case "alerts":
+          merged.alerts(changes.getAlerts());
+          break;
+        default:
+          log.debug("Ignoring unknown changed field: {}", field);
+      }
+    }
+    return merged.build();
+  }
+
+  private WeatherProjection toGrpcProjection(WeatherProjectionDto projection) {
+    return WeatherProjection.newBuilder()
+        .setCurrent(projection.isCurrent())
+        .setForecastDays(projection.getForecastDays())
+        .setAlerts(projection.isAlerts())
         .build();
   }
 
@@ -204,6 +418,7 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
         .description("No data available")
         .alerts(Collections.emptyList())
         .forecast(Collections.emptyList())
+        .fallback(true)
         .build();
   }
 
@@ -219,6 +434,7 @@ public class WeatherServiceGrpcClientImpl implements WeatherServiceGrpcClient {
         .description("No data available")
         .alerts(Collections.emptyList())
         .forecast(Collections.emptyList())
+        .fallback(true)
         .build();
   }
 }
@@ -0,0 +1,19 @@
+package com.weatherforecast.gatewayservice.overload;
+
+import java.util.Optional;
+
+public interface LoadShedder {
+
+  /** An admitted request; completing it records its latency and frees its slot. */
+  interface Admission {
+    void complete();
+  }
+
+  /**
+   * Decides whether a request may run given the current load on its route and on the gateway.
+   *
+   * @param path the request path
+   * @return the admission to complete when the request finishes, or empty if it should be shed
+   */
+  Optional<Admission> tryAdmit(String path);
+}
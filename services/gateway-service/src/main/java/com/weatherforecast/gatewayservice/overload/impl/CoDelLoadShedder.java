@@ -0,0 +1,160 @@
+package com.weatherforecast.gatewayservice.overload.impl;
+
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties;
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties.Priority;
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties.Route;
+import com.weatherforecast.gatewayservice.overload.LoadShedder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detects standing queues the way CoDel does: a route is overloaded when even its fastest request
+ * over an interval took longer than the target, because then every request waited, not just the
+ * unlucky ones. While a normal route is overloaded its in-flight requests are capped at what it
+ * completes in one target latency (Little's law), and low-priority routes are shed entirely. The
+ * state is re-evaluated every interval from lock-free counters. Overload is exported per route as
+ * {@code gateway.load-shedding.overloaded{route}}.
+ */
+@Slf4j
+@Component
+public class CoDelLoadShedder implements LoadShedder {
+  private static final Optional<Admission> UNTRACKED = Optional.of(() -> {});
+
+  private final List<RouteState> routes = new ArrayList<>();
+  private final boolean enabled;
+  private final long targetNanos;
+  private final long intervalNanos;
+  private final int minSamples;
+  private final LongSupplier nanoClock;
+
+  @Autowired
+  public CoDelLoadShedder(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::nanoTime);
+  }
+
+  CoDelLoadShedder(
+      LoadSheddingProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+    this.enabled = properties.isEnabled();
+    this.targetNanos = properties.getTarget().toNanos();
+    this.intervalNanos = properties.getInterval().toNanos();
+    this.minSamples = properties.getMinSamples();
+    this.nanoClock = nanoClock;
+    for (Route route : properties.getRoutes()) {
+      RouteState state = new RouteState(route, nanoClock.getAsLong() + intervalNanos);
+      routes.add(state);
+      Gauge.builder("gateway.load-shedding.overloaded", state, s -> s.overloaded ? 1 : 0)
+          .tag("route", route.getPath())
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public Optional<Admission> tryAdmit(String path) {
+    RouteState route = enabled ? findRoute(path) : null;
+    if (route == null || route.priority == Priority.CRITICAL) {
+      return UNTRACKED;
+    }
+
+    long now = nanoClock.getAsLong();
+    if (route.priority == Priority.LOW) {
+      for (RouteState other : routes) {
+        other.roll(now);
+        if (other.overloaded) {
+          return Optional.empty();
+        }
+      }
+      return UNTRACKED;
+    }
+
+    route.roll(now);
+    int inFlight = route.inFlight.incrementAndGet();
+    if (route.overloaded && inFlight > route.concurrencyLimit) {
+      route.inFlight.decrementAndGet();
+      return Optional.empty();
+    }
+    return Optional.of(() -> route.complete(nanoClock.getAsLong() - now));
+  }
+
+  private RouteState findRoute(String path) {
+    for (RouteState route : routes) {
+      if (path.startsWith(route.path)) {
+        return route;
+      }
+    }
+    return null;
+  }
+
+  private final class RouteState {
+    private final String path;
+    private final Priority priority;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong windowEnd;
+    private final AtomicLong windowMinLatency = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger windowCompletions = new AtomicInteger();
+    private volatile boolean overloaded;
+    private volatile int concurrencyLimit = Integer.MAX_VALUE;
+
+    private RouteState(Route route, long firstWindowEnd) {
+      this.path = route.getPath();
+      this.priority = route.getPriority();
+      this.windowEnd = new AtomicLong(firstWindowEnd);
+    }
+
+    private void complete(long latencyNanos) {
+      inFlight.decrementAndGet();
+      if (priority != Priority.NORMAL) {
+        return;
+      }
+      windowCompletions.incrementAndGet();
+      windowMinLatency.accumulateAndGet(latencyNanos, Math::min);
+    }
+
+    /** Closes the current interval if it has ended and re-evaluates the overload state. */
+    private void roll(long now) {
+      long end = windowEnd.get();
+      if (priority != Priority.NORMAL
+          || now < end
+          || !windowEnd.compareAndSet(end, now + intervalNanos)) {
+        return;
+      }
+
+      long elapsed = now - (end - intervalNanos);
+      long minLatency = windowMinLatency.getAndSet(Long.MAX_VALUE);
+      int completions = windowCompletions.getAndSet(0);
+      boolean wasOverloaded = overloaded;
+      if (completions >= minSamples) {
+        overloaded = minLatency > targetNanos;
+        concurrencyLimit =
+            overloaded
+                ? Math.max(1, (int) Math.ceil((double) completions * targetNanos / elapsed))
+                : Integer.MAX_VALUE;
+      } else {
+        // Too little traffic to judge: stay overloaded only while the route is still saturated,
+        // which covers a backend that has stopped answering.
+        overloaded = overloaded && inFlight.get() >= concurrencyLimit;
+        if (!overloaded) {
+          concurrencyLimit = Integer.MAX_VALUE;
+        }
+      }
+
+      if (overloaded != wasOverloaded) {
+        log.warn(
+            "Route {} {} (fastest request {} ms, {} completed, concurrency limit {})",
+            path,
+            overloaded ? "is overloaded" : "recovered",
+            minLatency == Long.MAX_VALUE ? -1 : minLatency / 1_000_000,
+            completions,
+            overloaded ? concurrencyLimit : "none");
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.weatherforecast.gatewayservice.ratelimit;
+
+public interface RateLimiter {
+
+  /**
+   * Takes one permit for the key if the key is within its limit.
+   *
+   * @param key identifies who is limited, for example a user or client IP on a route
+   * @param requestsPerSecond the sustained rate at which permits are granted
+   * @param burst the number of permits that may be taken at once after a quiet period
+   * @return 0 if the permit was taken, otherwise the nanoseconds until one becomes available
+   */
+  long tryAcquire(String key, double requestsPerSecond, int burst);
+
+  /**
+   * Gives back a permit taken with {@link #tryAcquire}, for example when a later limit rejects the
+   * same request.
+   *
+   * @param key the key the permit was taken for
+   * @param requestsPerSecond the rate the permit was taken at
+   */
+  void release(String key, double requestsPerSecond);
+}
@@ -0,0 +1,68 @@
+package com.weatherforecast.gatewayservice.ratelimit.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weatherforecast.gatewayservice.config.RateLimitProperties;
+import com.weatherforecast.gatewayservice.ratelimit.RateLimiter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket limiting with the generic cell rate algorithm. Each key's whole state is one
+ * theoretical arrival time, updated with a compare-and-set loop, so permits are taken without
+ * locks or allocation. Keys live in a bounded cache that evicts idle ones; an evicted key simply
+ * starts again with a full bucket.
+ */
+@Component
+public class GcraRateLimiter implements RateLimiter {
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final Cache<String, AtomicLong> arrivalTimes;
+  private final LongSupplier nanoClock;
+
+  @Autowired
+  public GcraRateLimiter(RateLimitProperties properties) {
+    this(properties, System::nanoTime);
+  }
+
+  GcraRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    this.arrivalTimes =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumKeys())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+  }
+
+  @Override
+  public long tryAcquire(String key, double requestsPerSecond, int burst) {
+    long emissionInterval = (long) (NANOS_PER_SECOND / requestsPerSecond);
+    long capacity = emissionInterval * Math.max(burst, 1);
+    AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+    while (true) {
+      long now = nanoClock.getAsLong();
+      long current = arrivalTime.get();
+      long next = Math.max(current, now) + emissionInterval;
+      long excess = next - now - capacity;
+      if (excess > 0) {
+        return excess;
+      }
+      if (arrivalTime.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public void release(String key, double requestsPerSecond) {
+    long emissionInterval = (long) (NANOS_PER_SECOND / requestsPerSecond);
+    AtomicLong arrivalTime = arrivalTimes.getIfPresent(key);
+    if (arrivalTime != null) {
+      arrivalTime.updateAndGet(
+          current -> current == Long.MIN_VALUE ? current : current - emissionInterval);
+    }
+  }
+}
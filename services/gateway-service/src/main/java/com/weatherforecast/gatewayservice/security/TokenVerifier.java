@@ -0,0 +1,36 @@
+package com.weatherforecast.gatewayservice.security;
+
+import lombok.Value;
+
+public interface TokenVerifier {
+
+  /** The outcome of verifying a token locally. */
+  enum Verification {
+    /** The signature is valid and the token has not expired. */
+    VALID,
+    /** The token is malformed, tampered with or expired. */
+    INVALID,
+    /** The token cannot be checked locally, for example because its key is not known yet. */
+    UNVERIFIABLE
+  }
+
+  /** The verification outcome together with the subject the token was issued to. */
+  @Value
+  class Result {
+    Verification verification;
+
+    /**
+     * The {@code sub} claim, or null if the token is invalid or has none. For unverifiable tokens
+     * it may only be trusted once auth-service has confirmed the token.
+     */
+    String subject;
+  }
+
+  /**
+   * Verifies a JWT token's signature and expiry without calling the authentication service.
+   *
+   * @param token the JWT token to be verified
+   * @return the verification outcome and the token's subject
+   */
+  Result verify(String token);
+}
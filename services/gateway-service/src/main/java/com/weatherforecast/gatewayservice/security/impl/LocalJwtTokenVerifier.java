@@ -0,0 +1,140 @@
+package com.weatherforecast.gatewayservice.security.impl;
+
+import com.weatherforecast.gatewayservice.dto.grpc.VerificationKeyDto;
+import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
+import com.weatherforecast.gatewayservice.security.TokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies tokens with the keys published by auth-service, which stays the source of truth for
+ * them. The key set is refreshed periodically and whenever a token names an unknown key; until the
+ * first refresh succeeds, and for tokens signed with unknown keys, verification is reported as
+ * {@link Verification#UNVERIFIABLE} so callers can fall back to asking auth-service. The token's
+ * subject is returned with the outcome, so callers need not decode the token again. A failed
+ * refresh keeps the previous keys, so verification carries on through auth-service outages. Only
+ * RSA public keys are accepted, and tokens must name their key in the {@code kid} header.
+ */
+@Slf4j
+@Component
+public class LocalJwtTokenVerifier implements TokenVerifier {
+  private static final long MIN_ON_DEMAND_REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private final AuthServiceGrpcClient authServiceGrpcClient;
+  private final JwtParser parser;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile Map<String, Key> keys = Map.of();
+  private volatile long nextOnDemandRefreshNanos = System.nanoTime();
+
+  public LocalJwtTokenVerifier(AuthServiceGrpcClient authServiceGrpcClient) {
+    this.authServiceGrpcClient = authServiceGrpcClient;
+    this.parser =
+        Jwts.parserBuilder()
+            .setSigningKeyResolver(
+                new SigningKeyResolverAdapter() {
+                  @Override
+                  public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    return resolveKey(header.getKeyId(), claims.getSubject());
+                  }
+                })
+            .build();
+  }
+
+  @Override
+  public Result verify(String token) {
+    try {
+      Claims claims = parser.parseClaimsJws(token).getBody();
+      return new Result(Verification.VALID, claims.getSubject());
+    } catch (UnknownKeyException e) {
+      long now = System.nanoTime();
+      if (!keys.isEmpty() && now - nextOnDemandRefreshNanos >= 0) {
+        nextOnDemandRefreshNanos = now + MIN_ON_DEMAND_REFRESH_INTERVAL_NANOS;
+        refreshKeys();
+      }
+      return new Result(Verification.UNVERIFIABLE, e.subject);
+    } catch (JwtException | IllegalArgumentException e) {
+      return new Result(Verification.INVALID, null);
+    }
+  }
+
+  /** Fetches the current key set from auth-service, keeping the previous keys on failure. */
+  @Scheduled(fixedDelayString = "${auth.verification-keys.refresh-interval-ms:300000}")
+  public void refreshKeys() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    authServiceGrpcClient
+        .getVerificationKeys()
+        .map(this::toKeys)
+        .doFinally(signal -> refreshing.set(false))
+        .subscribe(
+            refreshed -> {
+              keys = refreshed;
+              log.info("Loaded {} token verification keys", refreshed.size());
+            },
+            e ->
+                log.warn(
+                    "Refreshing token verification keys failed, keeping {} known keys: {}",
+                    keys.size(),
+                    e.getMessage()));
+  }
+
+  private Key resolveKey(String keyId, String subject) {
+    if (keyId == null) {
+      throw new MalformedJwtException("Token does not name its verification key");
+    }
+    Key key = keys.get(keyId);
+    if (key == null) {
+      throw new UnknownKeyException(keyId, subject);
+    }
+    return key;
+  }
+
+  private Map<String, Key> toKeys(List<VerificationKeyDto> verificationKeys) {
+    Map<String, Key> refreshed = new HashMap<>();
+    for (VerificationKeyDto verificationKey : verificationKeys) {
+      try {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(verificationKey.getAlgorithm());
+        if (algorithm.isRsa()) {
+          refreshed.put(
+              verificationKey.getKeyId(),
+              KeyFactory.getInstance("RSA")
+                  .generatePublic(new X509EncodedKeySpec(verificationKey.getKey())));
+        } else {
+          log.warn("Skipping verification key with unsupported algorithm {}", algorithm);
+        }
+      } catch (JwtException | GeneralSecurityException e) {
+        log.warn(
+            "Skipping invalid verification key {}: {}", verificationKey.getKeyId(), e.getMessage());
+      }
+    }
+    return Map.copyOf(refreshed);
+  }
+
+  /** Carries the unverified subject so callers can use it once auth-service accepts the token. */
+  private static class UnknownKeyException extends JwtException {
+    private final String subject;
+
+    UnknownKeyException(String keyId, String subject) {
+      super("Unknown verification key: " + keyId);
+      this.subject = subject;
+    }
+  }
+}
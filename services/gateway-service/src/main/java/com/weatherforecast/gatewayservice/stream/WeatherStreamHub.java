@@ -0,0 +1,26 @@
+package com.weatherforecast.gatewayservice.stream;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import reactor.core.publisher.Flux;
+
+public interface WeatherStreamHub {
+
+  /**
+   * Watches the weather at the given coordinates. All watchers of the same tile share one upstream
+   * subscription to weather-service; a new watcher first receives the latest known data.
+   *
+   * @param lat the latitude
+   * @param lon the longitude
+   * @return a Flux emitting the weather data whenever it changes
+   */
+  Flux<WeatherDataDto> watch(double lat, double lon);
+
+  /**
+   * Watches the weather in a city. The city is resolved to coordinates once and then shares the
+   * upstream subscription of its tile.
+   *
+   * @param city the city name
+   * @return a Flux emitting the weather data whenever it changes
+   */
+  Flux<WeatherDataDto> watch(String city);
+}
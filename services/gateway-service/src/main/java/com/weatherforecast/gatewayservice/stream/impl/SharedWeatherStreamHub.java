@@ -0,0 +1,105 @@
+package com.weatherforecast.gatewayservice.stream.impl;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.gatewayservice.grpc.WeatherServiceGrpcClient;
+import com.weatherforecast.gatewayservice.grpc.channel.CoordinateAffinity;
+import com.weatherforecast.gatewayservice.stream.WeatherStreamHub;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/**
+ * Multiplexes watchers onto one upstream per key. Each upstream is replayed to late watchers and
+ * cancelled once its last watcher leaves. Coordinates map to a weather-service update stream for
+ * their tile, resubscribed with backoff when it fails; cities are resolved once and then follow
+ * their tile. The number of open upstreams is exported as {@code weather.stream.upstreams}.
+ */
+@Slf4j
+@Component
+public class SharedWeatherStreamHub implements WeatherStreamHub {
+  private final WeatherServiceGrpcClient weatherServiceGrpcClient;
+  private final Map<String, Flux<WeatherDataDto>> upstreams = new ConcurrentHashMap<>();
+  private final Duration maxRetryBackoff;
+
+  public SharedWeatherStreamHub(
+      WeatherServiceGrpcClient weatherServiceGrpcClient,
+      MeterRegistry meterRegistry,
+      @Value("${weather.stream.max-retry-backoff-seconds:30}") long maxRetryBackoffSeconds) {
+    this.weatherServiceGrpcClient = weatherServiceGrpcClient;
+    this.maxRetryBackoff = Duration.ofSeconds(maxRetryBackoffSeconds);
+    Gauge.builder("weather.stream.upstreams", upstreams, Map::size).register(meterRegistry);
+  }
+
+  @Override
+  public Flux<WeatherDataDto> watch(double lat, double lon) {
+    return share(
+        CoordinateAffinity.forCoordinates(lat, lon),
+        () ->
+            weatherServiceGrpcClient
+                .streamWeatherUpdates(lat, lon)
+                .concatWith(Mono.error(new IllegalStateException("Weather update stream closed")))
+                .retryWhen(
+                    retry()
+                        .doBeforeRetry(
+                            signal ->
+                                log.info(
+                                    "Resubscribing to weather updates for {}, {} (attempt {})",
+                                    lat,
+                                    lon,
+                                    signal.totalRetries() + 1))));
+  }
+
+  @Override
+  public Flux<WeatherDataDto> watch(String city) {
+    return share(
+        CoordinateAffinity.forLocation(city),
+        () ->
+            weatherServiceGrpcClient
+                .getWeatherData(city, WeatherProjectionDto.ALL)
+                .flatMap(
+                    data ->
+                        data.isFallback()
+                            ? Mono.error(new IllegalStateException("Weather data is unavailable"))
+                            : Mono.just(data))
+                .retryWhen(retry())
+                .flatMapMany(data -> watch(data.getLatitude(), data.getLongitude())));
+  }
+
+  private RetryBackoffSpec retry() {
+    return Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(maxRetryBackoff);
+  }
+
+  /**
+   * Returns the shared upstream for the key, creating it on first use. Watchers get the latest
+   * element on subscribe, then only elements that differ from it, and each watcher keeps only the
+   * latest element if it falls behind so one slow client cannot hold back the others.
+   */
+  private Flux<WeatherDataDto> share(String key, Supplier<Flux<WeatherDataDto>> upstream) {
+    Flux<WeatherDataDto> shared =
+        upstreams.computeIfAbsent(
+            key,
+            k -> {
+              AtomicReference<Flux<WeatherDataDto>> self = new AtomicReference<>();
+              self.set(
+                  Flux.defer(upstream)
+                      .distinctUntilChanged()
+                      .doFinally(signal -> upstreams.remove(k, self.get()))
+                      .replay(1)
+                      .refCount());
+              return self.get();
+            });
+    return shared.onBackpressureLatest();
+  }
+}
@@ -0,0 +1,59 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CaffeineLastKnownGoodWeatherStoreTest {
+
+  private CaffeineLastKnownGoodWeatherStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new CaffeineLastKnownGoodWeatherStore(new SimpleMeterRegistry(), 100, 3600);
+  }
+
+  @Test
+  void shouldServeRecordedDataAsStale() {
+    long before = System.currentTimeMillis();
+    store.put("london", WeatherDataDto.builder().latitude(51.5).temperature(12.0).build());
+
+    WeatherDataDto stale = store.getStale("london").orElseThrow();
+
+    assertTrue(stale.isStale());
+    assertTrue(stale.isFallback());
+    assertEquals(51.5, stale.getLatitude());
+    assertEquals(12.0, stale.getTemperature());
+    assertTrue(stale.getLastUpdated() >= before);
+  }
+
+  @Test
+  void shouldServeStaleDataWithTheTimeWeatherServiceFetchedIt() {
+    store.put("london", WeatherDataDto.builder().temperature(12.0).fetchedAt(1_000L).build());
+
+    assertEquals(1_000L, store.getStale("london").orElseThrow().getLastUpdated());
+  }
+
+  @Test
+  void shouldReturnRecordedDataAsItWasRecorded() {
+    WeatherDataDto data = WeatherDataDto.builder().temperature(12.0).version("v1").build();
+    store.put("london", data);
+
+    assertSame(data, store.get("london").orElseThrow());
+  }
+
+  @Test
+  void shouldNotRecordFallbackData() {
+    store.put("london", WeatherDataDto.builder().temperature(0.0).fallback(true).build());
+
+    assertTrue(store.getStale("london").isEmpty());
+  }
+
+  @Test
+  void shouldReturnEmptyForUnknownKeys() {
+    assertTrue(store.getStale("paris").isEmpty());
+  }
+}
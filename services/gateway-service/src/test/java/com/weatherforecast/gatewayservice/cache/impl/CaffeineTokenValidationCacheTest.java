@@ -0,0 +1,99 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class CaffeineTokenValidationCacheTest {
+
+  @Mock private AuthServiceGrpcClient authServiceGrpcClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CaffeineTokenValidationCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache =
+        new CaffeineTokenValidationCache(
+            authServiceGrpcClient, new ObjectMapper(), meterRegistry, 100, 900, 10);
+  }
+
+  @Test
+  void shouldAnswerRepeatValidationsFromTheCache() {
+    String token = createToken(Instant.now().plusSeconds(3600));
+    when(authServiceGrpcClient.isAuthenticated(token)).thenReturn(Mono.just(true));
+
+    assertTrue(cache.isAuthenticated(token).block());
+    assertTrue(cache.isAuthenticated(token).block());
+
+    verify(authServiceGrpcClient, times(1)).isAuthenticated(token);
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", "token-validation")
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+  }
+
+  @Test
+  void shouldCacheInvalidTokens() {
+    String token = createToken(Instant.now().plusSeconds(3600));
+    when(authServiceGrpcClient.isAuthenticated(token)).thenReturn(Mono.just(false));
+
+    assertFalse(cache.isAuthenticated(token).block());
+    assertFalse(cache.isAuthenticated(token).block());
+
+    verify(authServiceGrpcClient, times(1)).isAuthenticated(token);
+  }
+
+  @Test
+  void shouldNotCacheExpiredTokens() {
+    String token = createToken(Instant.now().minusSeconds(60));
+    when(authServiceGrpcClient.isAuthenticated(token)).thenReturn(Mono.just(true));
+
+    cache.isAuthenticated(token).block();
+    cache.isAuthenticated(token).block();
+
+    verify(authServiceGrpcClient, times(2)).isAuthenticated(token);
+  }
+
+  @Test
+  void shouldNotCacheValidationFailures() {
+    String token = createToken(Instant.now().plusSeconds(3600));
+    when(authServiceGrpcClient.isAuthenticated(token))
+        .thenReturn(Mono.error(Status.UNAVAILABLE.asRuntimeException()))
+        .thenReturn(Mono.just(true));
+
+    assertFalse(cache.isAuthenticated(token).block());
+    assertTrue(cache.isAuthenticated(token).block());
+
+    verify(authServiceGrpcClient, times(2)).isAuthenticated(token);
+  }
+
+  private String createToken(Instant expiresAt) {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    String payload =
+        encoder.encodeToString(
+            ("{\"sub\":\"user\",\"exp\":" + expiresAt.getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    return header + "." + payload + ".signature";
+  }
+}
@@ -0,0 +1,172 @@
+package com.weatherforecast.gatewayservice.cache.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.gatewayservice.cache.CachedWeatherResponse;
+import com.weatherforecast.gatewayservice.compression.ResponseCompressor;
+import com.weatherforecast.gatewayservice.compression.impl.GzipBrotliResponseCompressor;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+public class CaffeineWeatherResponseCacheTest {
+
+  private CaffeineWeatherResponseCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new CaffeineWeatherResponseCache(
+            new ObjectMapper(),
+            new GzipBrotliResponseCompressor(true, DataSize.ofBytes(1)),
+            new SimpleMeterRegistry(),
+            100,
+            60,
+            10);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void shouldServeRepeatRequestsFromTheCache() {
+    CachedWeatherResponse first = cache.get("london", () -> load(false)).block();
+    CachedWeatherResponse second = cache.get("london", () -> load(false)).block();
+
+    assertEquals(1, loads.get());
+    assertSame(first, second);
+    assertTrue(first.getEtag().startsWith("\""));
+    assertTrue(first.maxAgeSeconds() > 0);
+    assertTrue(new String(first.getBody()).contains("\"temperature\":21.5"));
+  }
+
+  @Test
+  void shouldNotCacheFallbackResponses() {
+    CachedWeatherResponse first = cache.get("london", () -> load(true)).block();
+    cache.get("london", () -> load(true)).block();
+
+    assertEquals(2, loads.get());
+    assertEquals(0, first.maxAgeSeconds());
+    assertFalse(new String(first.getBody()).contains("fallback"));
+  }
+
+  @Test
+  void shouldLetClientsReuseStaleResponsesBriefly() {
+    CachedWeatherResponse response =
+        cache
+            .get(
+                "london",
+                () ->
+                    Mono.just(
+                        WeatherResponseDto.builder()
+                            .data(WeatherDataDto.builder().fallback(true).stale(true).build())
+                            .build()))
+            .block();
+
+    assertTrue(response.maxAgeSeconds() > 0 && response.maxAgeSeconds() <= 10);
+    assertTrue(new String(response.getBody()).contains("\"stale\":true"));
+  }
+
+  @Test
+  void shouldTagEqualResponsesWithTheSameEtag() {
+    CachedWeatherResponse london = cache.get("london", () -> load(false)).block();
+    CachedWeatherResponse paris = cache.get("paris", () -> load(false)).block();
+
+    assertEquals(london.getEtag(), paris.getEtag());
+  }
+
+  @Test
+  void shouldCompressResponsesOnceWhenTheyAreCached() throws Exception {
+    CachedWeatherResponse first = cache.get("london", () -> load(false)).block();
+    CachedWeatherResponse second = cache.get("london", () -> load(false)).block();
+
+    byte[] gzip = first.getEncodedBodies().get(GzipBrotliResponseCompressor.GZIP);
+    assertSame(gzip, second.getEncodedBodies().get(GzipBrotliResponseCompressor.GZIP));
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertArrayEquals(first.getBody(), in.readAllBytes());
+    }
+    assertNotEquals(first.getEtag(), first.etag(GzipBrotliResponseCompressor.GZIP));
+  }
+
+  @Test
+  void shouldLeaveUncachedResponsesToBeCompressedBySending() {
+    CachedWeatherResponse response = cache.get("london", () -> load(true)).block();
+
+    assertTrue(response.getEncodedBodies().isEmpty());
+  }
+
+  @Test
+  void shouldCompressOffTheCallingThread() {
+    AtomicReference<Thread> compressingThread = new AtomicReference<>();
+    ResponseCompressor compressor =
+        new ResponseCompressor() {
+          @Override
+          public Map<String, byte[]> compress(byte[] body) {
+            compressingThread.set(Thread.currentThread());
+            return Map.of();
+          }
+
+          @Override
+          public String selectEncoding(String acceptEncoding, Collection<String> available) {
+            return null;
+          }
+        };
+    cache =
+        new CaffeineWeatherResponseCache(
+            new ObjectMapper(),
+            compressor,
+            new SimpleMeterRegistry(),
+            100,
+            60,
+            10);
+
+    cache.get("london", () -> load(false)).block();
+
+    assertNotNull(compressingThread.get());
+    assertNotSame(Thread.currentThread(), compressingThread.get());
+  }
+
+  @Test
+  void shouldRecordTheCacheOutcomeAsAServerTiming() {
+    ServerTiming miss = new ServerTiming();
+    ServerTiming hit = new ServerTiming();
+
+    cache.get("london", () -> load(false)).contextWrite(ServerTiming.recordingTo(miss)).block();
+    cache.get("london", () -> load(false)).contextWrite(ServerTiming.recordingTo(hit)).block();
+
+    assertTrue(
+        miss.toHeaderValue()
+            .matches("cache;desc=\"miss\", map;dur=[\\d.]+, compress;dur=[\\d.]+"));
+    assertEquals("cache;desc=\"hit\"", hit.toHeaderValue());
+  }
+
+  @Test
+  void shouldNotRecordCompressionForUncachedResponses() {
+    ServerTiming timing = new ServerTiming();
+
+    cache.get("london", () -> load(true)).contextWrite(ServerTiming.recordingTo(timing)).block();
+
+    assertTrue(timing.toHeaderValue().matches("cache;desc=\"miss\", map;dur=[\\d.]+"));
+  }
+
+  private Mono<WeatherResponseDto> load(boolean fallback) {
+    loads.incrementAndGet();
+    return Mono.just(
+        WeatherResponseDto.builder()
+            .success(true)
+            .message("Weather data fetched successfully.")
+            .data(WeatherDataDto.builder().temperature(21.5).fallback(fallback).build())
+            .build());
+  }
+}
@@ -0,0 +1,67 @@
+package com.weatherforecast.gatewayservice.compression.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+public class GzipBrotliResponseCompressorTest {
+  private static final List<String> AVAILABLE =
+      List.of(GzipBrotliResponseCompressor.BROTLI, GzipBrotliResponseCompressor.GZIP);
+
+  private final GzipBrotliResponseCompressor compressor =
+      new GzipBrotliResponseCompressor(true, DataSize.ofBytes(64));
+
+  @Test
+  void shouldCompressBodiesFromTheMinimumSize() throws Exception {
+    byte[] body = "{\"temperature\":21.5}".repeat(10).getBytes(StandardCharsets.UTF_8);
+
+    Map<String, byte[]> compressed = compressor.compress(body);
+
+    byte[] gzip = compressed.get(GzipBrotliResponseCompressor.GZIP);
+    assertTrue(gzip.length < body.length);
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertArrayEquals(body, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void shouldNotCompressSmallBodies() {
+    assertTrue(compressor.compress(new byte[63]).isEmpty());
+  }
+
+  @Test
+  void shouldNotCompressWhenDisabled() {
+    GzipBrotliResponseCompressor disabled =
+        new GzipBrotliResponseCompressor(false, DataSize.ofBytes(0));
+
+    assertTrue(disabled.compress(new byte[1024]).isEmpty());
+  }
+
+  @Test
+  void shouldPreferTheGatewaysOrderWhenQualitiesTie() {
+    assertEquals("br", compressor.selectEncoding("gzip, deflate, br", AVAILABLE));
+    assertEquals("gzip", compressor.selectEncoding("gzip, deflate", AVAILABLE));
+    assertEquals("br", compressor.selectEncoding("*", AVAILABLE));
+  }
+
+  @Test
+  void shouldHonourClientQualities() {
+    assertEquals("gzip", compressor.selectEncoding("br;q=0.5, gzip", AVAILABLE));
+    assertEquals("gzip", compressor.selectEncoding("br;q=0, *", AVAILABLE));
+    assertEquals("br", compressor.selectEncoding("GZIP;Q=0.1, BR", AVAILABLE));
+  }
+
+  @Test
+  void shouldSendIdentityWhenNothingAcceptableIsAvailable() {
+    assertNull(compressor.selectEncoding(null, AVAILABLE));
+    assertNull(compressor.selectEncoding("deflate, identity", AVAILABLE));
+    assertNull(compressor.selectEncoding("gzip;q=0", AVAILABLE));
+    assertNull(compressor.selectEncoding("gzip", List.of()));
+  }
+}
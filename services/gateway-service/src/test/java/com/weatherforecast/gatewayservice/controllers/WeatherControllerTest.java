@@ -0,0 +1,191 @@
+package com.weatherforecast.gatewayservice.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchRequestDto;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchRequestDto.Location;
+import com.weatherforecast.gatewayservice.dto.http.WeatherBatchResultDto;
+import com.weatherforecast.gatewayservice.grpc.WeatherServiceGrpcClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+public class WeatherControllerTest {
+
+  @Mock private WeatherServiceGrpcClient weatherServiceGrpcClient;
+
+  private WeatherController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new WeatherController(weatherServiceGrpcClient, null, null, 3, 2, null, 15);
+  }
+
+  @Test
+  void shouldFetchIdenticalLocationsOnce() {
+    when(weatherServiceGrpcClient.getWeatherData(anyString(), any()))
+        .thenReturn(Mono.just(weatherData()));
+
+    StepVerifier.create(batch(city("London"), city("Paris"), city(" london ")))
+        .recordWith(ArrayList::new)
+        .expectNextCount(2)
+        .consumeRecordedWith(
+            results -> {
+              WeatherBatchResultDto london = findByCity(results, "London");
+              assertEquals(List.of(0, 2), london.getIndexes());
+              assertTrue(london.isSuccess());
+              assertEquals(List.of(1), findByCity(results, "Paris").getIndexes());
+            })
+        .verifyComplete();
+
+    verify(weatherServiceGrpcClient, times(1)).getWeatherData(eq("London"), any());
+    verify(weatherServiceGrpcClient, never()).getWeatherData(eq(" london "), any());
+  }
+
+  @Test
+  void shouldReportInvalidLocationsAsFailedLines() {
+    when(weatherServiceGrpcClient.getWeatherDataByCoordinates(anyDouble(), anyDouble(), any()))
+        .thenReturn(Mono.just(weatherData()));
+
+    StepVerifier.create(
+            batch(
+                Location.builder().lat(51.5).build(),
+                Location.builder().lat(51.5).lon(-0.1).build(),
+                Location.builder().city(" ").build()))
+        .assertNext(
+            result -> {
+              assertEquals(List.of(0), result.getIndexes());
+              assertFalse(result.isSuccess());
+              assertEquals("Please provide either lat and lon or city.", result.getMessage());
+            })
+        .assertNext(
+            result -> {
+              assertEquals(List.of(2), result.getIndexes());
+              assertFalse(result.isSuccess());
+            })
+        .assertNext(
+            result -> {
+              assertEquals(List.of(1), result.getIndexes());
+              assertTrue(result.isSuccess());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectBatchesOverTheSizeLimit() {
+    ResponseEntity<?> response =
+        controller.getBatch(
+            WeatherBatchRequestDto.builder()
+                .locations(List.of(city("A"), city("B"), city("C"), city("D")))
+                .build());
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verifyNoInteractions(weatherServiceGrpcClient);
+  }
+
+  @Test
+  void shouldReportPlaceholderDataAsAFailure() {
+    when(weatherServiceGrpcClient.getWeatherData(anyString(), any()))
+        .thenReturn(Mono.just(weatherData().toBuilder().fallback(true).build()));
+
+    StepVerifier.create(batch(city("London")))
+        .assertNext(
+            result -> {
+              assertFalse(result.isSuccess());
+              assertNull(result.getData());
+              assertEquals("Weather data is currently unavailable.", result.getMessage());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnStaleDataAsASuccess() {
+    WeatherDataDto stale =
+        weatherData().toBuilder().fallback(true).stale(true).lastUpdated(1000L).build();
+    when(weatherServiceGrpcClient.getWeatherData(anyString(), any()))
+        .thenReturn(Mono.just(stale));
+
+    StepVerifier.create(batch(city("London")))
+        .assertNext(
+            result -> {
+              assertTrue(result.isSuccess());
+              assertSame(stale, result.getData());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReportFailedLookupsWithoutFailingTheBatch() {
+    when(weatherServiceGrpcClient.getWeatherData(anyString(), any()))
+        .thenReturn(Mono.error(new IllegalStateException("unavailable")), Mono.empty());
+
+    StepVerifier.create(batch(city("London"), city("Paris")))
+        .assertNext(result -> assertFalse(result.isSuccess()))
+        .assertNext(
+            result -> {
+              assertFalse(result.isSuccess());
+              assertEquals("Weather data not found.", result.getMessage());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldLimitConcurrentLookups() {
+    List<Sinks.One<WeatherDataDto>> lookups = new ArrayList<>();
+    when(weatherServiceGrpcClient.getWeatherData(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              Sinks.One<WeatherDataDto> lookup = Sinks.one();
+              lookups.add(lookup);
+              return lookup.asMono();
+            });
+
+    StepVerifier.create(batch(city("London"), city("Paris"), city("Berlin")))
+        .then(() -> assertEquals(2, lookups.size()))
+        .then(() -> lookups.get(0).tryEmitValue(weatherData()))
+        .expectNextCount(1)
+        .then(() -> assertEquals(3, lookups.size()))
+        .then(() -> lookups.get(1).tryEmitValue(weatherData()))
+        .then(() -> lookups.get(2).tryEmitValue(weatherData()))
+        .expectNextCount(2)
+        .verifyComplete();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Flux<WeatherBatchResultDto> batch(Location... locations) {
+    ResponseEntity<?> response =
+        controller.getBatch(WeatherBatchRequestDto.builder().locations(List.of(locations)).build());
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    return (Flux<WeatherBatchResultDto>) response.getBody();
+  }
+
+  private WeatherBatchResultDto findByCity(
+      Collection<WeatherBatchResultDto> results, String city) {
+    return results.stream()
+        .filter(result -> city.equals(result.getLocation().getCity()))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private Location city(String city) {
+    return Location.builder().city(city).build();
+  }
+
+  private WeatherDataDto weatherData() {
+    return WeatherDataDto.builder().latitude(51.5).longitude(-0.1).description("Clear").build();
+  }
+}
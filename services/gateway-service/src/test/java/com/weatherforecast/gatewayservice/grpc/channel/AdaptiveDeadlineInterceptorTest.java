@@ -0,0 +1,165 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.config.GrpcDeadlineProperties;
+import com.weatherforecast.weatherservice.grpc.WeatherServiceGrpc;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveDeadlineInterceptorTest {
+  private final AtomicLong clock = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private AdaptiveDeadlineInterceptor interceptor;
+  private CallOptions lastCallOptions;
+
+  @BeforeEach
+  void setUp() {
+    GrpcDeadlineProperties properties = new GrpcDeadlineProperties();
+    properties.setMin(Duration.ofMillis(10));
+    properties.setWindow(Duration.ofHours(1));
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor =
+        new AdaptiveDeadlineInterceptor("weather-service", properties, meterRegistry, clock::get);
+  }
+
+  @Test
+  void shouldUseTheMaximumUntilAMethodHasEnoughSamples() {
+    call(Duration.ofMillis(5), Status.OK, 99);
+
+    assertEquals(5000, deadlineMillis(), 100);
+  }
+
+  @Test
+  void shouldDeriveTheDeadlineFromTheObservedPercentile() {
+    call(Duration.ofMillis(100), Status.OK, 200);
+
+    assertEquals(210, deadlineMillis(), 15);
+    assertEquals(
+        210,
+        meterRegistry.get("grpc.client.deadline").timeGauge().value(TimeUnit.MILLISECONDS),
+        15);
+  }
+
+  @Test
+  void shouldKeepADeadlineBetweenTheBounds() {
+    call(Duration.ofMillis(1), Status.OK, 200);
+    assertEquals(10, deadlineMillis(), 5);
+
+    call(Duration.ofSeconds(10), Status.OK, 200);
+    assertEquals(5000, deadlineMillis(), 100);
+  }
+
+  @Test
+  void shouldKeepAShorterDeadlineSetByTheCaller() {
+    call(Duration.ofMillis(100), Status.OK, 200);
+
+    interceptor.interceptCall(
+        WeatherServiceGrpc.getGetWeatherDataMethod(),
+        CallOptions.DEFAULT.withDeadlineAfter(50, TimeUnit.MILLISECONDS),
+        channel(Duration.ZERO, Status.OK));
+
+    assertTrue(lastCallOptions.getDeadline().timeRemaining(TimeUnit.MILLISECONDS) <= 50);
+  }
+
+  @Test
+  void shouldRaiseTheDeadlineWhenCallsTimeOut() {
+    call(Duration.ofMillis(10), Status.OK, 200);
+    long before = deadlineMillis();
+
+    call(Duration.ofMillis(before), Status.DEADLINE_EXCEEDED, 10);
+
+    assertTrue(deadlineMillis() > before);
+  }
+
+  @Test
+  void shouldNotRecordCallsThatNeverReachedAServer() {
+    call(Duration.ofMillis(1), Status.UNAVAILABLE, 200);
+    call(Duration.ofMillis(1), Status.CANCELLED, 200);
+
+    assertEquals(5000, deadlineMillis(), 100);
+  }
+
+  @Test
+  void shouldForgetLatencyOlderThanTwoWindows() {
+    call(Duration.ofSeconds(1), Status.OK, 200);
+    clock.addAndGet(Duration.ofHours(2).toNanos());
+    call(Duration.ofMillis(100), Status.OK, 200);
+
+    assertEquals(210, deadlineMillis(), 15);
+  }
+
+  @Test
+  void shouldLeaveStreamingCallsAlone() {
+    interceptor.interceptCall(
+        WeatherServiceGrpc.getStreamWeatherUpdatesMethod(),
+        CallOptions.DEFAULT,
+        channel(Duration.ZERO, Status.OK));
+
+    assertNull(lastCallOptions.getDeadline());
+  }
+
+  private void call(Duration latency, Status status, int times) {
+    for (int i = 0; i < times; i++) {
+      interceptor
+          .interceptCall(
+              WeatherServiceGrpc.getGetWeatherDataMethod(),
+              CallOptions.DEFAULT,
+              channel(latency, status))
+          .start(new ClientCall.Listener<>() {}, new Metadata());
+    }
+  }
+
+  private long deadlineMillis() {
+    interceptor.interceptCall(
+        WeatherServiceGrpc.getGetWeatherDataMethod(),
+        CallOptions.DEFAULT,
+        channel(Duration.ZERO, Status.OK));
+    return lastCallOptions.getDeadline().timeRemaining(TimeUnit.MILLISECONDS);
+  }
+
+  /** A channel whose calls close with the given status once the clock has advanced by latency. */
+  private Channel channel(Duration latency, Status status) {
+    return new Channel() {
+      @Override
+      public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+          MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+        lastCallOptions = callOptions;
+        return new ClientCall<>() {
+          @Override
+          public void start(Listener<RespT> responseListener, Metadata headers) {
+            clock.addAndGet(latency.toNanos());
+            responseListener.onClose(status, new Metadata());
+          }
+
+          @Override
+          public void request(int numMessages) {}
+
+          @Override
+          public void cancel(String message, Throwable cause) {}
+
+          @Override
+          public void halfClose() {}
+
+          @Override
+          public void sendMessage(ReqT message) {}
+        };
+      }
+
+      @Override
+      public String authority() {
+        return "weather-service";
+      }
+    };
+  }
+}
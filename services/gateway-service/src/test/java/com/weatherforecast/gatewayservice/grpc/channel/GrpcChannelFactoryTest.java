@@ -0,0 +1,185 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.config.GrpcChannelProperties;
+import com.weatherforecast.gatewayservice.config.GrpcDeadlineProperties;
+import com.weatherforecast.weatherservice.grpc.LocationRequest;
+import com.weatherforecast.weatherservice.grpc.WeatherDataResponse;
+import com.weatherforecast.weatherservice.grpc.WeatherServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GrpcChannelFactoryTest {
+  private static final int REPLICAS = 3;
+  private static final int POOL_SIZE = 2;
+  private final List<Server> servers = new ArrayList<>();
+  private final List<HealthStatusManager> healthManagers = new ArrayList<>();
+  private SimpleMeterRegistry meterRegistry;
+  private ManagedChannel channel;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    for (int i = 0; i < REPLICAS; i++) {
+      HealthStatusManager health = new HealthStatusManager();
+      health.setStatus(WeatherServiceGrpc.SERVICE_NAME, ServingStatus.SERVING);
+      servers.add(
+          NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+              .addService(new ReplicaWeatherService("replica-" + i))
+              .addService(health.getHealthService())
+              .build()
+              .start());
+      healthManagers.add(health);
+    }
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private void createChannel(String loadBalancingPolicy) {
+    String target =
+        "static:///"
+            + servers.stream()
+                .map(server -> "127.0.0.1:" + server.getPort())
+                .collect(Collectors.joining(","));
+    channel =
+        new GrpcChannelFactory(
+                meterRegistry,
+                ObservationRegistry.NOOP,
+                new GrpcDeadlineProperties(),
+                new GrpcChannelProperties())
+            .create(
+                "weather-service",
+                target,
+                loadBalancingPolicy,
+                WeatherServiceGrpc.SERVICE_NAME,
+                POOL_SIZE);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (callReplicas(REPLICAS * 4).size() < REPLICAS && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    for (Server server : servers) {
+      server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void shouldSpreadCallsAcrossAllReplicas() {
+    createChannel("round_robin");
+
+    assertEquals(Set.of("replica-0", "replica-1", "replica-2"), callReplicas(REPLICAS * 4));
+    assertEquals(REPLICAS, meterRegistry.find("grpc.client.calls").counters().size());
+    assertEquals(
+        POOL_SIZE, meterRegistry.find("grpc.client.channel.active-calls").gauges().size());
+  }
+
+  @Test
+  void shouldStopRoutingToReplicasThatReportNotServing() throws Exception {
+    createChannel("round_robin");
+    callReplicas(REPLICAS);
+    healthManagers.get(0).setStatus(WeatherServiceGrpc.SERVICE_NAME, ServingStatus.NOT_SERVING);
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    Set<String> replicas = callReplicas(REPLICAS * 4);
+    while (replicas.contains("replica-0") && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+      replicas = callReplicas(REPLICAS * 4);
+    }
+
+    assertEquals(Set.of("replica-1", "replica-2"), replicas);
+  }
+
+  @Test
+  void shouldPinEachLocationToOneReplica() {
+    createChannel(CoordinateAffinityLoadBalancerProvider.POLICY_NAME);
+
+    assertEquals(1, callReplicas(REPLICAS * 4, "Lagos").size());
+    Set<String> replicas = new HashSet<>();
+    for (int i = 0; i < 30; i++) {
+      replicas.addAll(callReplicas(1, "city-" + i));
+    }
+    assertEquals(REPLICAS, replicas.size());
+  }
+
+  @Test
+  void shouldMoveOnlyTheKeysOfAnUnhealthyReplica() throws Exception {
+    createChannel(CoordinateAffinityLoadBalancerProvider.POLICY_NAME);
+    Map<String, String> owners = new HashMap<>();
+    for (int i = 0; i < 30; i++) {
+      owners.put("city-" + i, callReplicas(1, "city-" + i).iterator().next());
+    }
+
+    healthManagers.get(0).setStatus(WeatherServiceGrpc.SERVICE_NAME, ServingStatus.NOT_SERVING);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (callReplicas(REPLICAS * 4).contains("replica-0") && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+
+    for (Map.Entry<String, String> owner : owners.entrySet()) {
+      String replica = callReplicas(1, owner.getKey()).iterator().next();
+      assertNotEquals("replica-0", replica);
+      if (!owner.getValue().equals("replica-0")) {
+        assertEquals(owner.getValue(), replica);
+      }
+    }
+  }
+
+  private Set<String> callReplicas(int calls) {
+    Set<String> replicas = new HashSet<>();
+    for (int i = 0; i < calls; i++) {
+      replicas.addAll(callReplicas(1, "location-" + i));
+    }
+    return replicas;
+  }
+
+  private Set<String> callReplicas(int calls, String location) {
+    WeatherServiceGrpc.WeatherServiceBlockingStub stub =
+        WeatherServiceGrpc.newBlockingStub(channel)
+            .withWaitForReady()
+            .withOption(CoordinateAffinity.KEY, CoordinateAffinity.forLocation(location));
+    Set<String> replicas = new HashSet<>();
+    for (int i = 0; i < calls; i++) {
+      replicas.add(
+          stub.withDeadlineAfter(5, TimeUnit.SECONDS)
+              .getWeatherDataByLocation(LocationRequest.newBuilder().setLocation(location).build())
+              .getDescription());
+    }
+    return replicas;
+  }
+
+  private static class ReplicaWeatherService extends WeatherServiceGrpc.WeatherServiceImplBase {
+    private final String name;
+
+    ReplicaWeatherService(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void getWeatherDataByLocation(
+        LocationRequest request, StreamObserver<WeatherDataResponse> responseObserver) {
+      responseObserver.onNext(WeatherDataResponse.newBuilder().setDescription(name).build());
+      responseObserver.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.weatherforecast.gatewayservice.grpc.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.weatherservice.grpc.WeatherServiceGrpc;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PooledManagedChannelTest {
+  private final List<FakeChannel> channels = new ArrayList<>();
+  private SimpleMeterRegistry meterRegistry;
+  private PooledManagedChannel pool;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 3; i++) {
+      channels.add(new FakeChannel());
+    }
+    meterRegistry = new SimpleMeterRegistry();
+    pool = new PooledManagedChannel("weather-service", List.copyOf(channels), meterRegistry);
+  }
+
+  @Test
+  void shouldSpreadConcurrentCallsEvenly() {
+    for (int i = 0; i < 6; i++) {
+      start();
+    }
+
+    assertEquals(List.of(2, 2, 2), openCalls());
+    assertEquals(2.0, activeCalls(0));
+  }
+
+  @Test
+  void shouldSendNewCallsToTheLeastLoadedChannel() {
+    for (int i = 0; i < 3; i++) {
+      start();
+    }
+    channels.get(1).calls.get(0).close();
+
+    start();
+
+    assertEquals(List.of(1, 1, 1), openCalls());
+    assertEquals(2, channels.get(1).calls.size());
+    assertEquals(1.0, activeCalls(1));
+  }
+
+  @Test
+  void shouldCountACallUntilItCloses() {
+    start();
+
+    assertEquals(1.0, activeCalls(0));
+    channels.get(0).calls.get(0).close();
+
+    assertEquals(0.0, activeCalls(0));
+  }
+
+  @Test
+  void shouldReportTheBestStateOfAnyChannel() {
+    channels.get(0).state = ConnectivityState.TRANSIENT_FAILURE;
+    channels.get(1).state = ConnectivityState.READY;
+    channels.get(2).state = ConnectivityState.CONNECTING;
+
+    assertEquals(ConnectivityState.READY, pool.getState(false));
+  }
+
+  @Test
+  void shouldShutDownEveryChannel() throws Exception {
+    pool.shutdown();
+
+    assertTrue(pool.isShutdown());
+    assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+    assertTrue(channels.stream().allMatch(FakeChannel::isTerminated));
+  }
+
+  private void start() {
+    pool.newCall(WeatherServiceGrpc.getGetWeatherDataMethod(), CallOptions.DEFAULT)
+        .start(new ClientCall.Listener<>() {}, new Metadata());
+  }
+
+  private List<Integer> openCalls() {
+    return channels.stream()
+        .map(channel -> (int) channel.calls.stream().filter(call -> !call.closed).count())
+        .collect(Collectors.toList());
+  }
+
+  private double activeCalls(int connection) {
+    return meterRegistry
+        .get("grpc.client.channel.active-calls")
+        .tag("connection", Integer.toString(connection))
+        .gauge()
+        .value();
+  }
+
+  private static class FakeChannel extends ManagedChannel {
+    private final List<FakeCall<?, ?>> calls = new ArrayList<>();
+    private ConnectivityState state = ConnectivityState.IDLE;
+    private boolean shutdown;
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+        MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      FakeCall<ReqT, RespT> call = new FakeCall<>();
+      calls.add(call);
+      return call;
+    }
+
+    @Override
+    public String authority() {
+      return "weather-service";
+    }
+
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+      return state;
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+      shutdown = true;
+      return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+      return shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return shutdown;
+    }
+
+    private static class FakeCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+      private Listener<RespT> listener;
+      private boolean closed;
+
+      void close() {
+        closed = true;
+        listener.onClose(Status.OK, new Metadata());
+      }
+
+      @Override
+      public void start(Listener<RespT> responseListener, Metadata headers) {
+        listener = responseListener;
+      }
+
+      @Override
+      public void request(int numMessages) {}
+
+      @Override
+      public void cancel(String message, Throwable cause) {
+        close();
+      }
+
+      @Override
+      public void halfClose() {}
+
+      @Override
+      public void sendMessage(ReqT message) {}
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.common.timing.ServerTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class SharedCallsTest {
+
+  private SharedCalls<String> sharedCalls;
+  private Sinks.One<String> result;
+  private AtomicReference<ServerTiming> backendTiming;
+  private AtomicInteger calls;
+
+  @BeforeEach
+  void setUp() {
+    sharedCalls =
+        new SharedCalls<>(
+            new SimpleMeterRegistry().counter("coalesced"),
+            ObservationRegistry.create(),
+            Tracer.NOOP);
+    result = Sinks.one();
+    backendTiming = new AtomicReference<>();
+    calls = new AtomicInteger();
+  }
+
+  @Test
+  void shouldGiveEveryTimedCallerTheBackendStages() {
+    ServerTiming first = new ServerTiming();
+    ServerTiming second = new ServerTiming();
+    AtomicReference<String> firstValue = new AtomicReference<>();
+    AtomicReference<String> secondValue = new AtomicReference<>();
+
+    execute(first).subscribe(firstValue::set);
+    execute(second).subscribe(secondValue::set);
+    backendTiming.get().append("db;dur=4.0");
+    result.tryEmitValue("sunny");
+
+    assertEquals(1, calls.get());
+    assertEquals("sunny", firstValue.get());
+    assertEquals("sunny", secondValue.get());
+    assertEquals("db;dur=4.0", first.toHeaderValue());
+    assertEquals("db;dur=4.0", second.toHeaderValue());
+  }
+
+  @Test
+  void shouldNotRecordForACallerThatCancelled() {
+    ServerTiming first = new ServerTiming();
+    ServerTiming second = new ServerTiming();
+    AtomicReference<String> secondValue = new AtomicReference<>();
+
+    Disposable cancelled = execute(first).subscribe();
+    execute(second).subscribe(secondValue::set);
+    cancelled.dispose();
+    backendTiming.get().append("db;dur=4.0");
+    result.tryEmitValue("sunny");
+
+    assertEquals("sunny", secondValue.get());
+    assertEquals("", first.toHeaderValue());
+    assertEquals("db;dur=4.0", second.toHeaderValue());
+  }
+
+  @Test
+  void shouldNotRunTheSharedCallInTheFirstCallersContext() {
+    AtomicReference<ServerTiming> seenByCall = new AtomicReference<>(new ServerTiming());
+
+    sharedCalls
+        .execute(
+            "london",
+            "fetch",
+            timing ->
+                Mono.deferContextual(
+                    context -> {
+                      seenByCall.set(ServerTiming.current(context));
+                      return Mono.just("sunny");
+                    }))
+        .contextWrite(ServerTiming.recordingTo(new ServerTiming()))
+        .block();
+
+    assertNull(seenByCall.get());
+  }
+
+  private Mono<String> execute(ServerTiming timing) {
+    return sharedCalls
+        .execute(
+            "london",
+            "fetch",
+            recorder -> {
+              calls.incrementAndGet();
+              backendTiming.set(recorder);
+              return result.asMono();
+            })
+        .contextWrite(ServerTiming.recordingTo(timing));
+  }
+}
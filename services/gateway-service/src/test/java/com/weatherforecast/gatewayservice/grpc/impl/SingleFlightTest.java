@@ -0,0 +1,97 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class SingleFlightTest {
+
+  private Counter coalesced;
+  private SingleFlight<String> singleFlight;
+  private Sinks.One<String> result;
+  private AtomicInteger calls;
+  private AtomicInteger cancellations;
+
+  @BeforeEach
+  void setUp() {
+    coalesced = new SimpleMeterRegistry().counter("coalesced");
+    singleFlight = new SingleFlight<>(coalesced);
+    calls = new AtomicInteger();
+    cancellations = new AtomicInteger();
+    result = Sinks.one();
+  }
+
+  @Test
+  void shouldShareOneCallAmongConcurrentCallers() {
+    AtomicReference<String> first = new AtomicReference<>();
+    AtomicReference<String> second = new AtomicReference<>();
+
+    singleFlight.execute("london", this::call).subscribe(first::set);
+    singleFlight.execute("london", this::call).subscribe(second::set);
+    result.tryEmitValue("sunny");
+
+    assertEquals(1, calls.get());
+    assertEquals("sunny", first.get());
+    assertEquals("sunny", second.get());
+    assertEquals(1.0, coalesced.count());
+  }
+
+  @Test
+  void shouldStartANewCallOnceTheLastOneCompleted() {
+    singleFlight.execute("london", this::call).subscribe();
+    result.tryEmitValue("sunny");
+    result = Sinks.one();
+
+    singleFlight.execute("london", this::call).subscribe();
+
+    assertEquals(2, calls.get());
+    assertEquals(0.0, coalesced.count());
+  }
+
+  @Test
+  void shouldNotShareCallsForDifferentKeys() {
+    singleFlight.execute("london", this::call).subscribe();
+    singleFlight.execute("paris", this::call).subscribe();
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void shouldKeepTheCallWhileAnyCallerRemains() {
+    AtomicReference<String> remaining = new AtomicReference<>();
+    Disposable leaving = singleFlight.execute("london", this::call).subscribe();
+    singleFlight.execute("london", this::call).subscribe(remaining::set);
+
+    leaving.dispose();
+    result.tryEmitValue("sunny");
+
+    assertEquals(0, cancellations.get());
+    assertEquals("sunny", remaining.get());
+  }
+
+  @Test
+  void shouldCancelTheCallWhenEveryCallerLeaves() {
+    Disposable first = singleFlight.execute("london", this::call).subscribe();
+    Disposable second = singleFlight.execute("london", this::call).subscribe();
+
+    first.dispose();
+    second.dispose();
+    singleFlight.execute("london", this::call).subscribe();
+
+    assertEquals(1, cancellations.get());
+    assertEquals(2, calls.get());
+  }
+
+  private Mono<String> call() {
+    calls.incrementAndGet();
+    return result.asMono().doOnCancel(cancellations::incrementAndGet);
+  }
+}
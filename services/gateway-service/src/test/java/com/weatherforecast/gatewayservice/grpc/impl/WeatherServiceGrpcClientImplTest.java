@@ -0,0 +1,119 @@
+package com.weatherforecast.gatewayservice.grpc.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.cache.impl.CaffeineLastKnownGoodWeatherStore;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.gatewayservice.grpc.channel.GrpcChannelFactory;
+import com.weatherforecast.weatherservice.grpc.LocationRequest;
+import com.weatherforecast.weatherservice.grpc.WeatherDataResponse;
+import com.weatherforecast.weatherservice.grpc.WeatherServiceGrpc;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WeatherServiceGrpcClientImplTest {
+
+  private FakeWeatherService weatherService;
+  private Server server;
+  private WeatherServiceGrpcClientImpl client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String name = InProcessServerBuilder.generateName();
+    weatherService = new FakeWeatherService();
+    server =
+        InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(weatherService)
+            .build()
+            .start();
+    ManagedChannel channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    client =
+        new WeatherServiceGrpcClientImpl(
+            "in-process",
+            "pick_first",
+            1,
+            new GrpcChannelFactory(meterRegistry, ObservationRegistry.NOOP, null, null) {
+              @Override
+              public ManagedChannel create(
+                  String name,
+                  String target,
+                  String loadBalancingPolicy,
+                  String healthCheckedService,
+                  int poolSize) {
+                return channel;
+              }
+            },
+            CircuitBreaker.ofDefaults("weather-service"),
+            new CaffeineLastKnownGoodWeatherStore(meterRegistry, 100, 3600),
+            meterRegistry,
+            ObservationRegistry.NOOP,
+            Tracer.NOOP);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
+    server.shutdownNow();
+  }
+
+  @Test
+  void shouldReuseTheKnownDataWhenWeatherServiceReportsItUnchanged() {
+    WeatherDataDto first = client.getWeatherData("London", WeatherProjectionDto.ALL).block();
+    WeatherDataDto second = client.getWeatherData("London", WeatherProjectionDto.ALL).block();
+
+    assertEquals(List.of("", "v1"), weatherService.knownVersions);
+    assertEquals(12.5, first.getTemperature());
+    assertSame(first, second);
+    assertFalse(second.isFallback());
+  }
+
+  @Test
+  void shouldNotTurnAnUnexpectedNotModifiedReplyIntoEmptyData() {
+    weatherService.alwaysNotModified = true;
+
+    WeatherDataDto data = client.getWeatherData("London", WeatherProjectionDto.ALL).block();
+
+    assertTrue(data.isFallback());
+    assertEquals("No data available", data.getDescription());
+  }
+
+  private static class FakeWeatherService extends WeatherServiceGrpc.WeatherServiceImplBase {
+    private final List<String> knownVersions = new CopyOnWriteArrayList<>();
+    private volatile boolean alwaysNotModified;
+
+    @Override
+    public void getWeatherDataByLocation(
+        LocationRequest request, StreamObserver<WeatherDataResponse> responseObserver) {
+      knownVersions.add(request.getKnownVersion());
+      if (alwaysNotModified || request.getKnownVersion().equals("v1")) {
+        responseObserver.onNext(
+            WeatherDataResponse.newBuilder().setVersion("v1").setNotModified(true).build());
+      } else {
+        responseObserver.onNext(
+            WeatherDataResponse.newBuilder()
+                .setLatitude(51.5)
+                .setLongitude(-0.1)
+                .setTemperature(12.5)
+                .setDescription("Cloudy")
+                .setVersion("v1")
+                .build());
+      }
+      responseObserver.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.weatherforecast.gatewayservice.overload.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties;
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties.Priority;
+import com.weatherforecast.gatewayservice.config.LoadSheddingProperties.Route;
+import com.weatherforecast.gatewayservice.overload.LoadShedder.Admission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CoDelLoadShedderTest {
+
+  private AtomicLong now;
+  private SimpleMeterRegistry meterRegistry;
+  private CoDelLoadShedder loadShedder;
+
+  @BeforeEach
+  void setUp() {
+    LoadSheddingProperties properties = new LoadSheddingProperties();
+    properties.setTarget(Duration.ofMillis(100));
+    properties.setInterval(Duration.ofMillis(500));
+    properties.setMinSamples(10);
+    properties.setRoutes(
+        List.of(
+            route("/api/v1/weather/batch", Priority.LOW),
+            route("/api/v1/weather", Priority.NORMAL),
+            route("/api/v1/auth", Priority.CRITICAL)));
+
+    now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    meterRegistry = new SimpleMeterRegistry();
+    loadShedder = new CoDelLoadShedder(properties, meterRegistry, now::get);
+  }
+
+  @Test
+  void shouldAdmitEverythingWhileRequestsAreFast() {
+    runInterval(50, 20);
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(loadShedder.tryAdmit("/api/v1/weather").isPresent());
+    }
+    assertTrue(loadShedder.tryAdmit("/api/v1/weather/batch").isPresent());
+    assertEquals(0.0, overloaded());
+  }
+
+  @Test
+  void shouldShedWhenEveryRequestOfAnIntervalIsSlow() {
+    runInterval(300, 20);
+
+    assertEquals(1.0, overloaded());
+    assertTrue(loadShedder.tryAdmit("/api/v1/weather/batch").isEmpty());
+    assertTrue(loadShedder.tryAdmit("/api/v1/auth").isPresent());
+
+    // 20 completions in 500 ms at a 100 ms target allow 4 requests in flight.
+    List<Optional<Admission>> admissions = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      admissions.add(loadShedder.tryAdmit("/api/v1/weather"));
+    }
+    assertEquals(4, admissions.stream().filter(Optional::isPresent).count());
+  }
+
+  @Test
+  void shouldNotTreatOneSlowRequestAsAStandingQueue() {
+    List<Admission> admissions = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      admissions.add(loadShedder.tryAdmit("/api/v1/weather").orElseThrow());
+    }
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+    admissions.subList(1, admissions.size()).forEach(Admission::complete);
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(480));
+
+    assertTrue(loadShedder.tryAdmit("/api/v1/weather/batch").isPresent());
+    assertEquals(0.0, overloaded());
+  }
+
+  @Test
+  void shouldRecoverOnceLatencyDropsBelowTarget() {
+    runInterval(300, 20);
+    assertEquals(1.0, overloaded());
+
+    runInterval(20, 20);
+
+    assertEquals(0.0, overloaded());
+    assertTrue(loadShedder.tryAdmit("/api/v1/weather/batch").isPresent());
+  }
+
+  /**
+   * Starts as many of the given number of requests as are admitted, completes them after the given
+   * latency and then ends the interval.
+   */
+  private void runInterval(long latencyMillis, int requests) {
+    long start = now.get();
+    List<Admission> admissions = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      loadShedder.tryAdmit("/api/v1/weather").ifPresent(admissions::add);
+    }
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    admissions.forEach(Admission::complete);
+    now.set(start + TimeUnit.MILLISECONDS.toNanos(500));
+    loadShedder.tryAdmit("/api/v1/weather/batch");
+  }
+
+  private double overloaded() {
+    return meterRegistry
+        .get("gateway.load-shedding.overloaded")
+        .tag("route", "/api/v1/weather")
+        .gauge()
+        .value();
+  }
+
+  private static Route route(String path, Priority priority) {
+    Route route = new Route();
+    route.setPath(path);
+    route.setPriority(priority);
+    return route;
+  }
+}
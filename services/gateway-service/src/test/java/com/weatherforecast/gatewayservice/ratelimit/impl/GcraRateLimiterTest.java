@@ -0,0 +1,117 @@
+package com.weatherforecast.gatewayservice.ratelimit.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.gatewayservice.config.RateLimitProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GcraRateLimiterTest {
+
+  private AtomicLong now;
+  private GcraRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    rateLimiter = new GcraRateLimiter(new RateLimitProperties(), now::get);
+  }
+
+  @Test
+  void shouldAllowABurstThenLimitToTheSustainedRate() {
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 3));
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 3));
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 3));
+
+    assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("alice", 1, 3));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(600), rateLimiter.tryAcquire("alice", 1, 3));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 3));
+    assertTrue(rateLimiter.tryAcquire("alice", 1, 3) > 0);
+  }
+
+  @Test
+  void shouldLimitKeysIndependently() {
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 1));
+    assertTrue(rateLimiter.tryAcquire("alice", 1, 1) > 0);
+
+    assertEquals(0, rateLimiter.tryAcquire("bob", 1, 1));
+  }
+
+  @Test
+  void shouldRefillTheBurstAfterAQuietPeriod() {
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, rateLimiter.tryAcquire("alice", 10, 5));
+    }
+    assertTrue(rateLimiter.tryAcquire("alice", 10, 5) > 0);
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, rateLimiter.tryAcquire("alice", 10, 5));
+    }
+    assertTrue(rateLimiter.tryAcquire("alice", 10, 5) > 0);
+  }
+
+  @Test
+  void shouldGrantAReleasedPermitAgain() {
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 2));
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 2));
+    assertTrue(rateLimiter.tryAcquire("alice", 1, 2) > 0);
+
+    rateLimiter.release("alice", 1);
+
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 2));
+    assertTrue(rateLimiter.tryAcquire("alice", 1, 2) > 0);
+  }
+
+  @Test
+  void shouldIgnoreReleasesForUnknownKeys() {
+    rateLimiter.release("alice", 1);
+
+    assertEquals(0, rateLimiter.tryAcquire("alice", 1, 1));
+    assertTrue(rateLimiter.tryAcquire("alice", 1, 1) > 0);
+  }
+
+  @Test
+  void shouldGrantExactlyTheBurstToConcurrentCallers() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+    try {
+      for (int t = 0; t < 8; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  int granted = 0;
+                  for (int i = 0; i < 1000; i++) {
+                    if (rateLimiter.tryAcquire("alice", 1, 100) == 0) {
+                      granted++;
+                    }
+                  }
+                  return granted;
+                }));
+      }
+      start.countDown();
+
+      int granted = 0;
+      for (Future<Integer> result : results) {
+        granted += result.get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(100, granted);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.weatherforecast.gatewayservice.security.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.weatherforecast.gatewayservice.dto.grpc.VerificationKeyDto;
+import com.weatherforecast.gatewayservice.grpc.AuthServiceGrpcClient;
+import com.weatherforecast.gatewayservice.security.TokenVerifier.Result;
+import com.weatherforecast.gatewayservice.security.TokenVerifier.Verification;
+import io.grpc.Status;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class LocalJwtTokenVerifierTest {
+  private static final String KEY_ID = "key-1";
+
+  @Mock private AuthServiceGrpcClient authServiceGrpcClient;
+
+  private final KeyPair signingKey = Keys.keyPairFor(SignatureAlgorithm.RS256);
+  private LocalJwtTokenVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    verifier = new LocalJwtTokenVerifier(authServiceGrpcClient);
+  }
+
+  @Test
+  void shouldReportTokensAsUnverifiableUntilKeysAreLoaded() {
+    Result result = verifier.verify(createToken(KEY_ID, signingKey, 60));
+
+    assertEquals(Verification.UNVERIFIABLE, result.getVerification());
+    assertEquals("testuser", result.getSubject());
+  }
+
+  @Test
+  void shouldVerifyTokensSignedWithAPublishedKey() {
+    loadKeys();
+
+    Result result = verifier.verify(createToken(KEY_ID, signingKey, 60));
+
+    assertEquals(Verification.VALID, result.getVerification());
+    assertEquals("testuser", result.getSubject());
+  }
+
+  @Test
+  void shouldRejectExpiredAndForgedTokens() {
+    loadKeys();
+    KeyPair otherKey = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+    assertEquals(
+        Verification.INVALID,
+        verifier.verify(createToken(KEY_ID, signingKey, -60)).getVerification());
+    assertEquals(
+        Verification.INVALID,
+        verifier.verify(createToken(KEY_ID, otherKey, 60)).getVerification());
+    assertNull(verifier.verify(createToken(KEY_ID, otherKey, 60)).getSubject());
+    assertEquals(Verification.INVALID, verifier.verify("not-a-token").getVerification());
+  }
+
+  @Test
+  void shouldRejectTokensThatDoNotNameTheirKey() {
+    loadKeys();
+
+    assertEquals(
+        Verification.INVALID,
+        verifier.verify(createToken(null, signingKey, 60)).getVerification());
+  }
+
+  @Test
+  void shouldIgnorePublishedHmacSecrets() {
+    SecretKey secret = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    when(authServiceGrpcClient.getVerificationKeys())
+        .thenReturn(
+            Mono.just(
+                List.of(
+                    VerificationKeyDto.builder()
+                        .keyId(KEY_ID)
+                        .algorithm("HS256")
+                        .key(secret.getEncoded())
+                        .build())));
+    verifier.refreshKeys();
+
+    String token =
+        Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, KEY_ID)
+            .setSubject("testuser")
+            .signWith(secret)
+            .compact();
+    assertEquals(Verification.UNVERIFIABLE, verifier.verify(token).getVerification());
+  }
+
+  @Test
+  void shouldRefreshKeysWhenATokenNamesAnUnknownKey() {
+    loadKeys();
+
+    assertEquals(
+        Verification.UNVERIFIABLE,
+        verifier.verify(createToken("key-2", signingKey, 60)).getVerification());
+    verify(authServiceGrpcClient, times(2)).getVerificationKeys();
+  }
+
+  @Test
+  void shouldKeepKnownKeysWhenARefreshFails() {
+    loadKeys();
+    when(authServiceGrpcClient.getVerificationKeys())
+        .thenReturn(Mono.error(Status.UNAVAILABLE.asRuntimeException()));
+
+    verifier.refreshKeys();
+
+    assertEquals(
+        Verification.VALID,
+        verifier.verify(createToken(KEY_ID, signingKey, 60)).getVerification());
+  }
+
+  private void loadKeys() {
+    when(authServiceGrpcClient.getVerificationKeys())
+        .thenReturn(
+            Mono.just(
+                List.of(
+                    VerificationKeyDto.builder()
+                        .keyId(KEY_ID)
+                        .algorithm("RS256")
+                        .key(signingKey.getPublic().getEncoded())
+                        .build())));
+    verifier.refreshKeys();
+  }
+
+  private String createToken(String keyId, KeyPair key, long validForSeconds) {
+    JwtBuilder builder =
+        Jwts.builder()
+            .setSubject("testuser")
+            .setExpiration(new Date(System.currentTimeMillis() + validForSeconds * 1000));
+    if (keyId != null) {
+      builder.setHeaderParam(JwsHeader.KEY_ID, keyId);
+    }
+    return builder.signWith(key.getPrivate()).compact();
+  }
+}
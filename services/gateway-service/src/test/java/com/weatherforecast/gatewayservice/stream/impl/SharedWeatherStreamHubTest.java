@@ -0,0 +1,107 @@
+package com.weatherforecast.gatewayservice.stream.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherDataDto;
+import com.weatherforecast.gatewayservice.dto.grpc.WeatherProjectionDto;
+import com.weatherforecast.gatewayservice.grpc.WeatherServiceGrpcClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+public class SharedWeatherStreamHubTest {
+
+  @Mock private WeatherServiceGrpcClient weatherServiceGrpcClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SharedWeatherStreamHub hub;
+  private Sinks.Many<WeatherDataDto> upstream;
+  private AtomicInteger upstreamSubscriptions;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hub = new SharedWeatherStreamHub(weatherServiceGrpcClient, meterRegistry, 30);
+    upstream = Sinks.many().multicast().directBestEffort();
+    upstreamSubscriptions = new AtomicInteger();
+    lenient()
+        .when(weatherServiceGrpcClient.streamWeatherUpdates(51.5072, -0.1276))
+        .thenReturn(
+            upstream.asFlux().doOnSubscribe(s -> upstreamSubscriptions.incrementAndGet()));
+  }
+
+  @Test
+  void shouldShareOneUpstreamBetweenWatchers() {
+    List<WeatherDataDto> first = new CopyOnWriteArrayList<>();
+    List<WeatherDataDto> second = new CopyOnWriteArrayList<>();
+
+    Disposable a = hub.watch(51.5072, -0.1276).subscribe(first::add);
+    Disposable b = hub.watch(51.50721, -0.12759).subscribe(second::add);
+    upstream.tryEmitNext(weather(12.0));
+
+    assertEquals(1, upstreamSubscriptions.get());
+    assertEquals(List.of(weather(12.0)), first);
+    assertEquals(List.of(weather(12.0)), second);
+    assertEquals(1.0, meterRegistry.get("weather.stream.upstreams").gauge().value());
+
+    a.dispose();
+    b.dispose();
+    assertEquals(0.0, meterRegistry.get("weather.stream.upstreams").gauge().value());
+  }
+
+  @Test
+  void shouldReplayLatestDataAndSkipUnchangedUpdates() {
+    List<WeatherDataDto> first = new CopyOnWriteArrayList<>();
+    List<WeatherDataDto> late = new CopyOnWriteArrayList<>();
+
+    Disposable a = hub.watch(51.5072, -0.1276).subscribe(first::add);
+    upstream.tryEmitNext(weather(12.0));
+    Disposable b = hub.watch(51.5072, -0.1276).subscribe(late::add);
+    upstream.tryEmitNext(weather(12.0));
+    upstream.tryEmitNext(weather(13.0));
+
+    assertEquals(List.of(weather(12.0), weather(13.0)), first);
+    assertEquals(List.of(weather(12.0), weather(13.0)), late);
+
+    a.dispose();
+    b.dispose();
+  }
+
+  @Test
+  void shouldFollowTheTileOfAWatchedCity() {
+    when(weatherServiceGrpcClient.getWeatherData("London", WeatherProjectionDto.ALL))
+        .thenReturn(
+            Mono.just(WeatherDataDto.builder().latitude(51.5072).longitude(-0.1276).build()));
+    List<WeatherDataDto> received = new CopyOnWriteArrayList<>();
+
+    Disposable a = hub.watch("London").subscribe(received::add);
+    Disposable b = hub.watch(" london ").subscribe(received::add);
+    upstream.tryEmitNext(weather(12.0));
+
+    verify(weatherServiceGrpcClient, times(1)).getWeatherData("London", WeatherProjectionDto.ALL);
+    assertEquals(1, upstreamSubscriptions.get());
+    assertEquals(List.of(weather(12.0), weather(12.0)), received);
+
+    a.dispose();
+    b.dispose();
+  }
+
+  private static WeatherDataDto weather(double temperature) {
+    return WeatherDataDto.builder()
+        .latitude(51.5072)
+        .longitude(-0.1276)
+        .temperature(temperature)
+        .build();
+  }
+}
@@ -1,10 +1,16 @@
 package com.weatherforecast.weatherservice;
 
+import com.weatherforecast.common.blocking.BlockingDetection;
+import com.weatherforecast.common.logging.AccessLogSampler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication(exclude = {RedisAutoConfiguration.class})
+@Import({BlockingDetection.class, AccessLogSampler.class})
 public class WeatherServiceApplication {
 
   public static void main(String[] args) {
@@ -2,12 +2,16 @@ package com.weatherforecast.weatherservice.cache.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weatherforecast.weatherservice.domain.WeatherData;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
@@ -22,13 +26,23 @@ public class RedisConfig {
   @Value("${spring.data.redis.port}")
   private int redisPort;
 
+  /** Client resources that record a span for every Redis command issued within a trace. */
+  @Bean(destroyMethod = "shutdown")
+  public ClientResources redisClientResources(ObservationRegistry observationRegistry) {
+    return ClientResources.builder()
+        .tracing(new MicrometerTracing(observationRegistry, "weather-service-redis"))
+        .build();
+  }
+
   @Bean
   @Primary
-  public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory() {
+  public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(
+      ClientResources clientResources) {
     RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
     config.setHostName(redisHost);
     config.setPort(redisPort);
-    return new LettuceConnectionFactory(config);
+    return new LettuceConnectionFactory(
+        config, LettuceClientConfiguration.builder().clientResources(clientResources).build());
   }
 
   @Bean
@@ -1,6 +1,7 @@
 package com.weatherforecast.weatherservice.cache.impl;
 
 import com.weatherforecast.weatherservice.cache.WeatherCacheRepository;
+import com.weatherforecast.weatherservice.domain.Tile;
 import com.weatherforecast.weatherservice.domain.WeatherData;
 import java.time.Duration;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
@@ -29,6 +30,6 @@ public class RedisWeatherCacheRepository implements WeatherCacheRepository {
   }
 
   private String generateCacheKey(Double latitude, Double longitude) {
-    return String.format("weather:%.4f:%.4f", latitude, longitude);
+    return "weather:" + Tile.of(latitude, longitude).getId();
   }
 }
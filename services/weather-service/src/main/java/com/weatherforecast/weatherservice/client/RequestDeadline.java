@@ -0,0 +1,65 @@
+package com.weatherforecast.weatherservice.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Carries the caller's deadline through the Reactor context so that upstream calls never outlive
+ * the request that triggered them. The transport layer records the deadline and the clients bound
+ * their own work by whatever time is left.
+ */
+public final class RequestDeadline {
+  private static final Object CONTEXT_KEY = RequestDeadline.class;
+
+  private RequestDeadline() {}
+
+  /**
+   * Returns a context modifier recording a deadline that expires after the given duration.
+   *
+   * @param remaining the time the caller is still willing to wait
+   * @return a function to pass to {@link Mono#contextWrite(Function)}
+   */
+  public static Function<Context, Context> expiringAfter(Duration remaining) {
+    long expiresAtNanos = System.nanoTime() + remaining.toNanos();
+    return context -> context.put(CONTEXT_KEY, expiresAtNanos);
+  }
+
+  /**
+   * Returns the time left before the deadline recorded in the context, if any.
+   *
+   * @param context the subscriber context
+   * @return the remaining time, or null when the caller set no deadline
+   */
+  public static Duration remaining(ContextView context) {
+    Long expiresAtNanos = context.getOrDefault(CONTEXT_KEY, null);
+    if (expiresAtNanos == null) {
+      return null;
+    }
+    return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+  }
+
+  /**
+   * Bounds a publisher by the caller's deadline. Work is not started at all when the deadline has
+   * already passed, and is cancelled as soon as it expires.
+   *
+   * @param source the upstream call
+   * @return the same call, failing with {@link TimeoutException} once the deadline is exceeded
+   */
+  public static <T> Mono<T> bound(Mono<T> source) {
+    return Mono.deferContextual(
+        context -> {
+          Duration remaining = remaining(context);
+          if (remaining == null) {
+            return source;
+          }
+          if (remaining.isNegative() || remaining.isZero()) {
+            return Mono.error(new TimeoutException("Caller deadline already exceeded"));
+          }
+          return source.timeout(remaining);
+        });
+  }
+}
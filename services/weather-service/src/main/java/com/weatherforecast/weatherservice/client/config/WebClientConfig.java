@@ -2,6 +2,7 @@ package com.weatherforecast.weatherservice.client.config;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.observation.ObservationRegistry;
 import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,8 +22,13 @@ public class WebClientConfig {
   private String baseUrl;
 
   @Bean
-  public WebClient openWeatherMapWebClient() {
-    return WebClient.builder().baseUrl(baseUrl).filter(logRequest()).filter(logResponse()).build();
+  public WebClient openWeatherMapWebClient(ObservationRegistry observationRegistry) {
+    return WebClient.builder()
+        .baseUrl(baseUrl)
+        .observationRegistry(observationRegistry)
+        .filter(logRequest())
+        .filter(logResponse())
+        .build();
   }
 
   @Bean
@@ -42,10 +48,7 @@ public class WebClientConfig {
   private ExchangeFilterFunction logRequest() {
     return ExchangeFilterFunction.ofRequestProcessor(
         clientRequest -> {
-          log.info("Request: {} {}", clientRequest.method(), clientRequest.url());
-          clientRequest
-              .headers()
-              .forEach((name, values) -> values.forEach(value -> log.debug("{}={}", name, value)));
+          log.debug("Request: {} {}", clientRequest.method(), clientRequest.url().getPath());
           return Mono.just(clientRequest);
         });
   }
@@ -53,7 +56,7 @@ public class WebClientConfig {
   private ExchangeFilterFunction logResponse() {
     return ExchangeFilterFunction.ofResponseProcessor(
         clientResponse -> {
-          log.info("Response status: {}", clientResponse.statusCode());
+          log.debug("Response status: {}", clientResponse.statusCode());
           return Mono.just(clientResponse);
         });
   }
@@ -1,5 +1,6 @@
 package com.weatherforecast.weatherservice.client.impl;
 
+import com.weatherforecast.weatherservice.client.RequestDeadline;
 import com.weatherforecast.weatherservice.client.WeatherApiClient;
 import com.weatherforecast.weatherservice.client.dto.openweathermap.LocationDto;
 import com.weatherforecast.weatherservice.client.dto.openweathermap.WeatherDataDto;
@@ -20,6 +21,9 @@ import reactor.core.publisher.Mono;
 @Component
 @Slf4j
 public class OpenWeatherMapClient implements WeatherApiClient {
+  /** Minutely and hourly series are never served, so they are not downloaded or parsed either. */
+  private static final String EXCLUDED_PARTS = "minutely,hourly";
+
   private final WebClient webClient;
   private final String apiKey;
   private final CircuitBreaker circuitBreaker;
@@ -35,8 +39,6 @@ public class OpenWeatherMapClient implements WeatherApiClient {
 
   @Override
   public Mono<WeatherData> getWeatherData(Double latitude, Double longitude) {
-    log.info("Fetching current weather for latitude: {} and longitude: {}", latitude, longitude);
-
     var weatherDataDto =
         webClient
             .get()
@@ -48,17 +50,18 @@ public class OpenWeatherMapClient implements WeatherApiClient {
                         .queryParam("lon", longitude)
                         .queryParam("appid", apiKey)
                         .queryParam("units", "metric")
+                        .queryParam("exclude", EXCLUDED_PARTS)
                         .build())
             .retrieve()
             .bodyToMono(WeatherDataDto.class)
             .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+            .transform(RequestDeadline::bound)
             .doOnSuccess(
-                result ->
-                    log.info("Successfully fetched current weather for: {}", latitude, longitude))
+                result -> log.debug("Fetched current weather for: {} {}", latitude, longitude))
             .doOnError(
                 error ->
                     log.error(
-                        "Error fetching current weather for {}: {}",
+                        "Error fetching current weather for {} {}: {}",
                         latitude,
                         longitude,
                         error.getMessage()));
@@ -67,7 +70,6 @@ public class OpenWeatherMapClient implements WeatherApiClient {
   }
 
   public Mono<Coordinates> getCoordinates(String location) {
-    log.info("Retrieving coordinates for location: {}", location);
     var locationDto =
         webClient
             .get()
@@ -82,7 +84,8 @@ public class OpenWeatherMapClient implements WeatherApiClient {
             .retrieve()
             .bodyToFlux(LocationDto.class)
             .next()
-            .doOnSuccess(result -> log.info("Successfully retrieved coordinates for: {}", location))
+            .transform(RequestDeadline::bound)
+            .doOnSuccess(result -> log.debug("Retrieved coordinates for: {}", location))
             .doOnError(
                 error ->
                     log.error(
@@ -119,6 +122,7 @@ public class OpenWeatherMapClient implements WeatherApiClient {
                 .pressure(dto.getCurrent().getPressure().doubleValue())
                 .humidity(dto.getCurrent().getHumidity())
                 .windSpeed(dto.getCurrent().getWind_speed())
+                .fetchedAt(System.currentTimeMillis())
                 .forecast(
                     dto.getDaily().stream()
                         .map(
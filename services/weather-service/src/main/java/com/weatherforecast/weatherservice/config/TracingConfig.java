@@ -0,0 +1,41 @@
+package com.weatherforecast.weatherservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weatherforecast.common.tracing.JsonLinesSpanExporter;
+import io.grpc.ServerInterceptor;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.lognet.springboot.grpc.GRpcGlobalInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Joins incoming gRPC calls to the caller's trace and declares the span exporters. The server
+ * interceptor reads the W3C {@code traceparent} header and opens a server span around each call.
+ * Spring Boot sends sampled spans to every {@link SpanExporter} bean.
+ */
+@Configuration
+public class TracingConfig {
+
+  @Bean
+  @GRpcGlobalInterceptor
+  public ServerInterceptor observationGrpcServerInterceptor(
+      ObservationRegistry observationRegistry) {
+    return new ObservationGrpcServerInterceptor(observationRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+  public SpanExporter jsonLinesSpanExporter(
+      @Value("${tracing.file.path:traces/${spring.application.name}.jsonl}") String path,
+      @Value("${spring.application.name}") String serviceName,
+      ObjectMapper objectMapper)
+      throws IOException {
+    return new JsonLinesSpanExporter(Path.of(path), serviceName, objectMapper);
+  }
+}
@@ -0,0 +1,57 @@
+package com.weatherforecast.weatherservice.domain;
+
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * A cell of the coordinate grid used for caching and subscriptions. Coordinates are rounded to four
+ * decimal places, the same granularity as weather cache keys, so a single cache refresh maps to
+ * exactly one tile.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Tile {
+  private static final double SCALE = 10_000d;
+
+  long latitudeE4;
+  long longitudeE4;
+
+  public static Tile of(double latitude, double longitude) {
+    return new Tile(Math.round(latitude * SCALE), Math.round(longitude * SCALE));
+  }
+
+  /**
+   * Parses a tile identifier of the form {@code "<latitude>:<longitude>"}.
+   *
+   * @param id the tile identifier
+   * @return the tile containing the given coordinates
+   * @throws IllegalArgumentException if the identifier is malformed
+   */
+  public static Tile parse(String id) {
+    int separator = id.indexOf(':');
+    if (separator <= 0 || separator == id.length() - 1) {
+      throw new IllegalArgumentException("Invalid tile id: " + id);
+    }
+    try {
+      return of(
+          Double.parseDouble(id.substring(0, separator)),
+          Double.parseDouble(id.substring(separator + 1)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid tile id: " + id, e);
+    }
+  }
+
+  public double getLatitude() {
+    return latitudeE4 / SCALE;
+  }
+
+  public double getLongitude() {
+    return longitudeE4 / SCALE;
+  }
+
+  public String getId() {
+    return String.format(Locale.ROOT, "%.4f:%.4f", getLatitude(), getLongitude());
+  }
+}
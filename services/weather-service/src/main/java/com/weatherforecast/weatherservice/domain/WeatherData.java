@@ -18,6 +18,7 @@ public class WeatherData {
   private Double pressure;
   private Integer humidity;
   private Double windSpeed;
+  private Long fetchedAt;
   @Builder.Default private List<Forecast> forecast = new ArrayList<>();
   @Builder.Default private List<Alert> alerts = new ArrayList<>();
 }
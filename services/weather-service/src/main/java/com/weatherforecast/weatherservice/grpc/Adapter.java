@@ -2,7 +2,13 @@ package com.weatherforecast.weatherservice.grpc;
 
 import com.weatherforecast.weatherservice.domain.Alert;
 import com.weatherforecast.weatherservice.domain.Forecast;
+import com.weatherforecast.weatherservice.domain.Tile;
 import com.weatherforecast.weatherservice.domain.WeatherData;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * The Adapter class provides utility methods to convert between domain models and gRPC protocol
@@ -14,47 +20,226 @@ import com.weatherforecast.weatherservice.domain.WeatherData;
  */
 public class Adapter {
   static WeatherDataResponse toGrpcResponse(WeatherData weatherData) {
+    return toGrpcResponse(weatherData, null, toVersion(weatherData, null));
+  }
+
+  /**
+   * Converts weather data to a gRPC response containing only the parts selected by the caller's
+   * projection. Skipped parts are never converted, so trimming the forecast or alerts also saves
+   * the cost of building and serializing them.
+   *
+   * @param weatherData the weather data to convert
+   * @param projection the requested projection, or null to return everything
+   * @param version the content version from {@link #toVersion}
+   * @return the gRPC response
+   */
+  static WeatherDataResponse toGrpcResponse(
+      WeatherData weatherData, WeatherProjection projection, String version) {
     WeatherDataResponse.Builder responseBuilder =
         WeatherDataResponse.newBuilder()
+            .setVersion(version)
             .setLatitude(weatherData.getLatitude())
             .setLongitude(weatherData.getLongitude())
             .setTimezone(weatherData.getTimezone())
-            .setTimezoneOffset(weatherData.getTimezoneOffset())
-            .setDescription(weatherData.getDescription())
-            .setTemperature(weatherData.getTemperature())
-            .setFeelsLike(weatherData.getFeelsLike())
-            .setPressure(weatherData.getPressure())
-            .setHumidity(weatherData.getHumidity())
-            .setWindSpeed(weatherData.getWindSpeed());
+            .setTimezoneOffset(weatherData.getTimezoneOffset());
+
+    if (weatherData.getFetchedAt() != null) {
+      responseBuilder.setFetchedAt(weatherData.getFetchedAt());
+    }
+
+    if (projection == null || projection.getCurrent()) {
+      responseBuilder
+          .setDescription(weatherData.getDescription())
+          .setTemperature(weatherData.getTemperature())
+          .setFeelsLike(weatherData.getFeelsLike())
+          .setPressure(weatherData.getPressure())
+          .setHumidity(weatherData.getHumidity())
+          .setWindSpeed(weatherData.getWindSpeed());
+    }
 
     if (weatherData.getForecast() != null) {
+      int forecastDays =
+          projection == null ? weatherData.getForecast().size() : projection.getForecastDays();
       for (Forecast forecast : weatherData.getForecast()) {
-        ForecastData forecastData =
-            ForecastData.newBuilder()
-                .setDescription(forecast.getDescription())
-                .setTemperature(forecast.getTemperature())
-                .setFeelsLike(forecast.getFeelsLike())
-                .setPressure(forecast.getPressure())
-                .setHumidity(forecast.getHumidity())
-                .setWindSpeed(forecast.getWindSpeed())
-                .build();
-        responseBuilder.addForecast(forecastData);
+        if (responseBuilder.getForecastCount() >= forecastDays) {
+          break;
+        }
+        responseBuilder.addForecast(toGrpcForecast(forecast));
       }
     }
 
-    if (weatherData.getAlerts() != null) {
+    if (weatherData.getAlerts() != null && (projection == null || projection.getAlerts())) {
       for (Alert alert : weatherData.getAlerts()) {
-        AlertData alertData =
-            AlertData.newBuilder()
-                .setName(alert.getName())
-                .setDescription(alert.getDescription())
-                .setStartTime(alert.getStartTime())
-                .setEndTime(alert.getEndTime())
-                .build();
-        responseBuilder.addAlerts(alertData);
+        responseBuilder.addAlerts(toGrpcAlert(alert));
       }
     }
 
     return responseBuilder.build();
   }
+
+  /**
+   * Derives the version of a response from the time its data was fetched upstream and the
+   * projection applied to it. Cached data keeps its fetch time, so the version only changes when
+   * the cache entry is refreshed or a different projection is requested.
+   *
+   * @param weatherData the weather data
+   * @param projection the requested projection, or null for everything
+   * @return the version, or an empty string if the fetch time is unknown
+   */
+  static String toVersion(WeatherData weatherData, WeatherProjection projection) {
+    if (weatherData.getFetchedAt() == null) {
+      return "";
+    }
+    String fetchedAt = Long.toString(weatherData.getFetchedAt(), 36);
+    if (projection == null) {
+      return fetchedAt;
+    }
+    return fetchedAt
+        + "-"
+        + (projection.getCurrent() ? "c" : "")
+        + "f"
+        + projection.getForecastDays()
+        + (projection.getAlerts() ? "a" : "");
+  }
+
+  /**
+   * Converts weather data to the response for a caller that may already hold a version of it.
+   * Callers holding the current version get a not-modified response instead of the data.
+   *
+   * @param weatherData the weather data to convert
+   * @param projection the requested projection, or null to return everything
+   * @param knownVersion the version the caller holds, or an empty string
+   * @return the gRPC response
+   */
+  static WeatherDataResponse toConditionalResponse(
+      WeatherData weatherData, WeatherProjection projection, String knownVersion) {
+    String version = toVersion(weatherData, projection);
+    if (!version.isEmpty() && version.equals(knownVersion)) {
+      return toNotModifiedResponse(version);
+    }
+    return toGrpcResponse(weatherData, projection, version);
+  }
+
+  /**
+   * Builds the response sent when the caller already holds the current version.
+   *
+   * @param version the current version
+   * @return a response carrying only the version and the not-modified flag
+   */
+  static WeatherDataResponse toNotModifiedResponse(String version) {
+    return WeatherDataResponse.newBuilder().setVersion(version).setNotModified(true).build();
+  }
+
+  /**
+   * Collects the distinct tiles named by a subscription request, either directly or through
+   * coordinates that fall inside them.
+   *
+   * @param request the subscription request
+   * @return the requested tiles in request order
+   * @throws IllegalArgumentException if a tile identifier is malformed
+   */
+  static Set<Tile> toTiles(WeatherSubscriptionRequest request) {
+    Set<Tile> tiles = new LinkedHashSet<>();
+    for (CoordinatesRequest coordinates : request.getCoordinatesList()) {
+      tiles.add(Tile.of(coordinates.getLatitude(), coordinates.getLongitude()));
+    }
+    for (String tileId : request.getTilesList()) {
+      tiles.add(Tile.parse(tileId));
+    }
+    return tiles;
+  }
+
+  /**
+   * Builds the update a subscriber should receive when a tile moves from {@code previous} to
+   * {@code current}. Without a previous value the update is a full snapshot; otherwise only the
+   * fields that differ are set and named in {@code changed_fields}.
+   *
+   * @param tile the tile the data belongs to
+   * @param previous the data last sent to the subscriber, or null if nothing was sent yet
+   * @param current the data to send
+   * @return the update, or null if nothing changed
+   */
+  static WeatherUpdate toGrpcUpdate(Tile tile, WeatherData previous, WeatherData current) {
+    WeatherUpdate.Builder update = WeatherUpdate.newBuilder().setTile(tile.getId());
+    if (previous == null) {
+      return update.setSnapshot(true).setData(toGrpcResponse(current)).build();
+    }
+
+    WeatherDataResponse.Builder delta = WeatherDataResponse.newBuilder();
+    diff(update, "latitude", previous.getLatitude(), current.getLatitude(), delta::setLatitude);
+    diff(update, "longitude", previous.getLongitude(), current.getLongitude(), delta::setLongitude);
+    diff(update, "timezone", previous.getTimezone(), current.getTimezone(), delta::setTimezone);
+    diff(
+        update,
+        "timezone_offset",
+        previous.getTimezoneOffset(),
+        current.getTimezoneOffset(),
+        delta::setTimezoneOffset);
+    diff(
+        update,
+        "description",
+        previous.getDescription(),
+        current.getDescription(),
+        delta::setDescription);
+    diff(
+        update,
+        "temperature",
+        previous.getTemperature(),
+        current.getTemperature(),
+        delta::setTemperature);
+    diff(
+        update, "feels_like", previous.getFeelsLike(), current.getFeelsLike(), delta::setFeelsLike);
+    diff(update, "pressure", previous.getPressure(), current.getPressure(), delta::setPressure);
+    diff(update, "humidity", previous.getHumidity(), current.getHumidity(), delta::setHumidity);
+    diff(
+        update, "wind_speed", previous.getWindSpeed(), current.getWindSpeed(), delta::setWindSpeed);
+    diff(
+        update,
+        "forecast",
+        previous.getForecast(),
+        current.getForecast(),
+        (List<Forecast> forecast) -> forecast.forEach(f -> delta.addForecast(toGrpcForecast(f))));
+    diff(
+        update,
+        "alerts",
+        previous.getAlerts(),
+        current.getAlerts(),
+        (List<Alert> alerts) -> alerts.forEach(a -> delta.addAlerts(toGrpcAlert(a))));
+
+    if (update.getChangedFieldsCount() == 0) {
+      return null;
+    }
+    return update.setData(delta).build();
+  }
+
+  private static <T> void diff(
+      WeatherUpdate.Builder update, String field, T previous, T current, Consumer<T> setter) {
+    if (Objects.equals(previous, current)) {
+      return;
+    }
+    if (current != null) {
+      setter.accept(current);
+    }
+    update.addChangedFields(field);
+  }
+
+  private static ForecastData toGrpcForecast(Forecast forecast) {
+    return ForecastData.newBuilder()
+        .setDescription(forecast.getDescription())
+        .setTemperature(forecast.getTemperature())
+        .setFeelsLike(forecast.getFeelsLike())
+        .setPressure(forecast.getPressure())
+        .setHumidity(forecast.getHumidity())
+        .setWindSpeed(forecast.getWindSpeed())
+        .build();
+  }
+
+  private static AlertData toGrpcAlert(Alert alert) {
+    return AlertData.newBuilder()
+        .setName(alert.getName())
+        .setDescription(alert.getDescription())
+        .setStartTime(alert.getStartTime())
+        .setEndTime(alert.getEndTime())
+        .build();
+  }
 }
@@ -1,20 +1,25 @@
 package com.weatherforecast.weatherservice.grpc;
 
+import com.weatherforecast.common.grpc.GrpcServerExecution;
 import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
 import io.grpc.protobuf.services.ProtoReflectionService;
 import org.lognet.springboot.grpc.GRpcServerBuilderConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import(GrpcServerExecution.class)
 public class GrpcConfig {
   @Bean
-  public GRpcServerBuilderConfigurer customGrpcServerBuilderConfigurer() {
+  public GRpcServerBuilderConfigurer customGrpcServerBuilderConfigurer(
+      GrpcServerExecution serverExecution) {
     return new GRpcServerBuilderConfigurer() {
       @Override
       public void configure(io.grpc.ServerBuilder<?> serverBuilder) {
         if (serverBuilder instanceof NettyServerBuilder) {
           ((NettyServerBuilder) serverBuilder).addService(ProtoReflectionService.newInstance());
+          serverExecution.apply((NettyServerBuilder) serverBuilder);
         }
       }
     };
@@ -1,61 +1,187 @@
 package com.weatherforecast.weatherservice.grpc;
 
+import com.weatherforecast.common.timing.ServerTiming;
+import com.weatherforecast.weatherservice.client.RequestDeadline;
+import com.weatherforecast.weatherservice.domain.Tile;
+import com.weatherforecast.weatherservice.domain.WeatherData;
 import com.weatherforecast.weatherservice.service.WeatherService;
+import com.weatherforecast.weatherservice.stream.WeatherUpdateRegistry;
+import io.grpc.Context;
+import io.grpc.Deadline;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.lognet.springboot.grpc.GRpcService;
+import org.springframework.beans.factory.annotation.Value;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @GRpcService
 public class GrpcWeatherServiceImpl extends WeatherServiceGrpc.WeatherServiceImplBase {
+  private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
   private final WeatherService weatherService;
+  private final WeatherUpdateRegistry updateRegistry;
+  private final int maxTilesPerSubscription;
 
-  public GrpcWeatherServiceImpl(WeatherService weatherService) {
+  public GrpcWeatherServiceImpl(
+      WeatherService weatherService,
+      WeatherUpdateRegistry updateRegistry,
+      @Value("${weather.stream.max-tiles-per-subscription:100}") int maxTilesPerSubscription) {
     this.weatherService = weatherService;
+    this.updateRegistry = updateRegistry;
+    this.maxTilesPerSubscription = maxTilesPerSubscription;
   }
 
   @Override
   public void getWeatherData(
       CoordinatesRequest request, StreamObserver<WeatherDataResponse> responseObserver) {
-    log.info(
+    log.debug(
         "Received gRPC request for coordinates: {}, {}",
         request.getLatitude(),
         request.getLongitude());
 
-    weatherService
-        .getWeatherData(request.getLatitude(), request.getLongitude())
-        .subscribe(
-            weatherData -> {
-              WeatherDataResponse response = Adapter.toGrpcResponse(weatherData);
-              responseObserver.onNext(response);
-              responseObserver.onCompleted();
-              log.info("Successfully responded to gRPC request for weather data");
-            },
-            error -> {
-              log.error("Error occurred while processing gRPC request: {}", error.getMessage());
-              responseObserver.onError(
-                  Status.INTERNAL.withDescription("Something went wrong").asRuntimeException());
-            });
+    respond(
+        weatherService.getWeatherData(request.getLatitude(), request.getLongitude()),
+        request.hasProjection() ? request.getProjection() : null,
+        request.getKnownVersion(),
+        responseObserver);
   }
 
   @Override
   public void getWeatherDataByLocation(
       LocationRequest request, StreamObserver<WeatherDataResponse> responseObserver) {
-    log.info("Received gRPC request for location: {}", request.getLocation());
-    weatherService
-        .getWeatherData(request.getLocation())
-        .subscribe(
-            weatherData -> {
-              WeatherDataResponse response = Adapter.toGrpcResponse(weatherData);
-              responseObserver.onNext(response);
-              responseObserver.onCompleted();
-              log.info("Successfully responded to gRPC request for weather data");
-            },
-            error -> {
-              log.error("Error occurred while processing gRPC request: {}", error.getMessage());
-              responseObserver.onError(
-                  Status.INTERNAL.withDescription("Something went wrong").asRuntimeException());
-            });
+    log.debug("Received gRPC request for location: {}", request.getLocation());
+    respond(
+        weatherService.getWeatherData(request.getLocation()),
+        request.hasProjection() ? request.getProjection() : null,
+        request.getKnownVersion(),
+        responseObserver);
+  }
+
+  @Override
+  public void streamWeatherUpdates(
+      WeatherSubscriptionRequest request, StreamObserver<WeatherUpdate> responseObserver) {
+    Set<Tile> tiles;
+    try {
+      tiles = Adapter.toTiles(request);
+    } catch (IllegalArgumentException e) {
+      responseObserver.onError(
+          Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+      return;
+    }
+
+    if (tiles.isEmpty() || tiles.size() > maxTilesPerSubscription) {
+      responseObserver.onError(
+          Status.INVALID_ARGUMENT
+              .withDescription("Subscribe to between 1 and " + maxTilesPerSubscription + " tiles")
+              .asRuntimeException());
+      return;
+    }
+    log.info("Received gRPC subscription for {} tiles", tiles.size());
+
+    ServerCallStreamObserver<WeatherUpdate> serverObserver =
+        (ServerCallStreamObserver<WeatherUpdate>) responseObserver;
+    ServerStreamSubscriber<WeatherUpdate> subscriber = new ServerStreamSubscriber<>(serverObserver);
+    serverObserver.setOnCancelHandler(
+        () -> {
+          log.info("gRPC subscription for {} tiles cancelled", tiles.size());
+          subscriber.dispose();
+        });
+    serverObserver.setOnReadyHandler(subscriber::requestIfReady);
+
+    Flux.fromIterable(tiles).flatMap(this::tileUpdates, tiles.size()).subscribe(subscriber);
+  }
+
+  /**
+   * Streams a snapshot of the tile followed by deltas for every refresh. The delta baseline is
+   * what this subscriber last received, so conflated refreshes still produce a correct delta.
+   */
+  private Flux<WeatherUpdate> tileUpdates(Tile tile) {
+    Mono<WeatherData> snapshot =
+        weatherService
+            .getWeatherData(tile.getLatitude(), tile.getLongitude())
+            .onErrorResume(
+                error -> {
+                  log.warn(
+                      "Could not load snapshot for tile {}: {}", tile.getId(), error.getMessage());
+                  return Mono.empty();
+                });
+
+    return Flux.defer(
+        () -> {
+          AtomicReference<WeatherData> lastSent = new AtomicReference<>();
+          return Flux.merge(snapshot, updateRegistry.subscribe(tile))
+              .handle(
+                  (weatherData, sink) -> {
+                    WeatherUpdate update =
+                        Adapter.toGrpcUpdate(tile, lastSent.getAndSet(weatherData), weatherData);
+                    if (update != null) {
+                      sink.next(update);
+                    }
+                  });
+        });
+  }
+
+  /**
+   * Subscribes the service call to the gRPC response. The subscription is disposed when the caller
+   * cancels or its deadline expires, and the remaining deadline is handed to the reactive pipeline
+   * so upstream calls are bounded by it as well. Stages of the pipeline record their timings for
+   * the call's {@code server-timing} trailer, and the call's trace is carried into the pipeline so
+   * its Redis and upstream spans join the caller's trace. Callers that already hold the current
+   * version get a not-modified response instead of the data.
+   */
+  private void respond(
+      Mono<WeatherData> weatherData,
+      WeatherProjection projection,
+      String knownVersion,
+      StreamObserver<WeatherDataResponse> responseObserver) {
+    ServerCallStreamObserver<WeatherDataResponse> serverObserver =
+        (ServerCallStreamObserver<WeatherDataResponse>) responseObserver;
+    ServerStreamSubscriber<WeatherDataResponse> subscriber =
+        new ServerStreamSubscriber<>(serverObserver);
+    serverObserver.setOnCancelHandler(
+        () -> {
+          log.debug("gRPC request cancelled by the caller, discarding weather data fetch");
+          subscriber.dispose();
+        });
+    serverObserver.setOnReadyHandler(subscriber::requestIfReady);
+
+    withServerTiming(withCallerDeadline(withCurrentTrace(weatherData)))
+        .map(data -> Adapter.toConditionalResponse(data, projection, knownVersion))
+        .switchIfEmpty(
+            Mono.error(
+                Status.NOT_FOUND.withDescription("Weather data not found").asRuntimeException()))
+        .subscribe(subscriber);
+  }
+
+  private <T> Mono<T> withCurrentTrace(Mono<T> mono) {
+    ContextSnapshot snapshot = SNAPSHOTS.captureAll();
+    return mono.contextWrite(snapshot::updateContext);
+  }
+
+  private <T> Mono<T> withServerTiming(Mono<T> mono) {
+    ServerTiming timing = ServerTimingInterceptor.current();
+    if (timing == null) {
+      return mono;
+    }
+    return mono.contextWrite(ServerTiming.recordingTo(timing));
+  }
+
+  private <T> Mono<T> withCallerDeadline(Mono<T> mono) {
+    Deadline deadline = Context.current().getDeadline();
+    if (deadline == null) {
+      return mono;
+    }
+    return mono.contextWrite(
+        RequestDeadline.expiringAfter(
+            Duration.ofNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS))));
   }
 }
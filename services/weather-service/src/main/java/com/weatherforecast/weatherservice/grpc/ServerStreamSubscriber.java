@@ -0,0 +1,57 @@
+package com.weatherforecast.weatherservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Bridges a reactive publisher to a gRPC server stream while honouring the transport's flow
+ * control. Items are requested one at a time and only while the call is ready, so a slow client
+ * pushes back on the publisher instead of piling messages up in the server's outbound buffer.
+ */
+@Slf4j
+class ServerStreamSubscriber<T> extends BaseSubscriber<T> {
+  private final ServerCallStreamObserver<T> observer;
+  private final AtomicBoolean awaitingItem = new AtomicBoolean();
+
+  ServerStreamSubscriber(ServerCallStreamObserver<T> observer) {
+    this.observer = observer;
+  }
+
+  /** Requests the next item if the call can accept it and no request is outstanding. */
+  void requestIfReady() {
+    if (!isDisposed() && observer.isReady() && awaitingItem.compareAndSet(false, true)) {
+      request(1);
+    }
+  }
+
+  @Override
+  protected void hookOnSubscribe(Subscription subscription) {
+    requestIfReady();
+  }
+
+  @Override
+  protected void hookOnNext(T value) {
+    awaitingItem.set(false);
+    observer.onNext(value);
+    requestIfReady();
+  }
+
+  @Override
+  protected void hookOnComplete() {
+    observer.onCompleted();
+  }
+
+  @Override
+  protected void hookOnError(Throwable error) {
+    log.error("Error occurred while processing gRPC request: {}", error.getMessage());
+    Status status = Status.fromThrowable(error);
+    if (status.getCode() == Status.Code.UNKNOWN) {
+      status = Status.INTERNAL.withDescription("Something went wrong");
+    }
+    observer.onError(status.asRuntimeException());
+  }
+}
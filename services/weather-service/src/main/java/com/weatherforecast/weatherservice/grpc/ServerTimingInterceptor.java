@@ -0,0 +1,77 @@
+package com.weatherforecast.weatherservice.grpc;
+
+import com.weatherforecast.common.logging.AccessLogSampler;
+import com.weatherforecast.common.timing.ServerTiming;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.lognet.springboot.grpc.GRpcGlobalInterceptor;
+
+/**
+ * Gives every call a {@link ServerTiming} recorder and returns what it recorded in the {@code
+ * server-timing} trailer, so callers can see where the time went without a tracing backend. Calls
+ * picked by the {@link AccessLogSampler} get one {@code key=value} line with the method, status,
+ * duration and stages in the {@code access} log.
+ */
+@Slf4j(topic = "access")
+@GRpcGlobalInterceptor
+public class ServerTimingInterceptor implements ServerInterceptor {
+  /** The trailer carrying the call's stages in {@code Server-Timing} syntax. */
+  public static final Metadata.Key<String> TRAILER =
+      Metadata.Key.of("server-timing", Metadata.ASCII_STRING_MARSHALLER);
+
+  private static final Context.Key<ServerTiming> CONTEXT_KEY = Context.key("server-timing");
+  private final AccessLogSampler accessLogSampler;
+
+  public ServerTimingInterceptor(AccessLogSampler accessLogSampler) {
+    this.accessLogSampler = accessLogSampler;
+  }
+
+  /**
+   * Returns the recorder of the call being handled.
+   *
+   * @return the recorder, or null outside a call
+   */
+  static ServerTiming current() {
+    return CONTEXT_KEY.get();
+  }
+
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    long startNanos = System.nanoTime();
+    ServerTiming timing = new ServerTiming();
+    ServerCall<ReqT, RespT> timedCall =
+        new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+          @Override
+          public void close(Status status, Metadata trailers) {
+            String value = timing.toHeaderValue();
+            if (!value.isEmpty()) {
+              trailers.put(TRAILER, value);
+            }
+            super.close(status, trailers);
+            logCall(call, status, System.nanoTime() - startNanos, value);
+          }
+        };
+    return Contexts.interceptCall(
+        Context.current().withValue(CONTEXT_KEY, timing), timedCall, headers, next);
+  }
+
+  private void logCall(ServerCall<?, ?> call, Status status, long durationNanos, String timing) {
+    if (log.isInfoEnabled() && accessLogSampler.shouldLog(!status.isOk(), durationNanos)) {
+      log.info(
+          "method={} status={} duration_ms={} server_timing=\"{}\"",
+          call.getMethodDescriptor().getFullMethodName(),
+          status.getCode(),
+          String.format(Locale.ROOT, "%.1f", durationNanos / 1e6),
+          timing);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.weatherforecast.weatherservice.service.impl;
 
+import com.weatherforecast.common.timing.ServerTiming;
 import com.weatherforecast.weatherservice.client.WeatherApiClient;
 import com.weatherforecast.weatherservice.domain.Coordinates;
 import com.weatherforecast.weatherservice.service.LocationService;
@@ -18,16 +19,9 @@ public class LocationServiceImpl implements LocationService {
 
   @Override
   public Mono<Coordinates> getCoordinates(String location) {
-    return weatherApiClient
-        .getCoordinates(location)
+    return ServerTiming.time("geocode", weatherApiClient.getCoordinates(location))
         .doOnSuccess(
-            coordinates -> {
-              if (coordinates != null) {
-                log.info("Coordinates retrieved: {}", coordinates);
-              } else {
-                log.info("No coordinates found for location: {}", location);
-              }
-            })
+            coordinates -> log.debug("Coordinates for location {}: {}", location, coordinates))
         .doOnError(
             error ->
                 log.error(
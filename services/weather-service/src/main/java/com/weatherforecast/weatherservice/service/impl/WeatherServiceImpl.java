@@ -1,10 +1,12 @@
 package com.weatherforecast.weatherservice.service.impl;
 
+import com.weatherforecast.common.timing.ServerTiming;
 import com.weatherforecast.weatherservice.cache.WeatherCacheRepository;
 import com.weatherforecast.weatherservice.client.WeatherApiClient;
 import com.weatherforecast.weatherservice.domain.WeatherData;
 import com.weatherforecast.weatherservice.service.LocationService;
 import com.weatherforecast.weatherservice.service.WeatherService;
+import com.weatherforecast.weatherservice.stream.WeatherUpdateRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -15,40 +17,37 @@ public class WeatherServiceImpl implements WeatherService {
   private final WeatherCacheRepository cacheRepository;
   private final LocationService locationService;
   private final WeatherApiClient weatherApiClient;
+  private final WeatherUpdateRegistry updateRegistry;
 
   public WeatherServiceImpl(
       WeatherCacheRepository cacheRepository,
       LocationService locationService,
-      WeatherApiClient weatherApiClient) {
+      WeatherApiClient weatherApiClient,
+      WeatherUpdateRegistry updateRegistry) {
     this.cacheRepository = cacheRepository;
     this.locationService = locationService;
     this.weatherApiClient = weatherApiClient;
+    this.updateRegistry = updateRegistry;
   }
 
   @Override
   public Mono<WeatherData> getWeatherData(Double latitude, Double longitude) {
-    return cacheRepository
-        .findByCoordinates(latitude, longitude)
+    return ServerTiming.timeLookup("redis", cacheRepository.findByCoordinates(latitude, longitude))
         .switchIfEmpty(
-            weatherApiClient
-                .getWeatherData(latitude, longitude)
-                .flatMap(weatherData -> cacheRepository.save(weatherData).thenReturn(weatherData)))
+            ServerTiming.time("onecall", weatherApiClient.getWeatherData(latitude, longitude))
+                .flatMap(
+                    weatherData ->
+                        ServerTiming.time("redis-write", cacheRepository.save(weatherData))
+                            .thenReturn(weatherData))
+                .doOnNext(updateRegistry::publish))
         .doOnSuccess(
-            weatherData -> {
-              if (weatherData != null) {
-                log.info("Weather data retrieved: {}", weatherData);
-              } else {
-                log.info("No weather data found.");
-              }
-            })
-        .doOnError(error -> log.error("Error retrieving weather data: {}", error.getMessage()))
-        .doOnSubscribe(
-            subscription ->
-                log.info("Fetching weather data for coordinates: {} {}", latitude, longitude))
-        .doOnTerminate(
-            () ->
-                log.info(
-                    "Weather data fetch completed for coordinates: {} {}", latitude, longitude));
+            weatherData ->
+                log.debug(
+                    "Weather data for coordinates {} {} found: {}",
+                    latitude,
+                    longitude,
+                    weatherData != null))
+        .doOnError(error -> log.error("Error retrieving weather data: {}", error.getMessage()));
   }
 
   @Override
@@ -58,20 +57,13 @@ public class WeatherServiceImpl implements WeatherService {
         .flatMap(
             coordinates -> getWeatherData(coordinates.getLatitude(), coordinates.getLongitude()))
         .doOnSuccess(
-            weather -> {
-              if (weather != null) {
-                log.info(location + " weather data retrieved: " + weather);
-              } else {
-                log.info("No weather data found for location: " + location);
-              }
-            })
+            weather ->
+                log.debug("Weather data for location {} found: {}", location, weather != null))
         .doOnError(
             error ->
                 log.error(
                     "Error retrieving weather data for location: {} Error: {}",
                     location,
-                    error.getMessage()))
-        .doOnSubscribe(subscription -> log.info("Fetching weather data for location: {}", location))
-        .doOnTerminate(() -> log.info("Weather data fetch completed for location: {}", location));
+                    error.getMessage()));
   }
 }
@@ -0,0 +1,53 @@
+package com.weatherforecast.weatherservice.stream;
+
+import com.weatherforecast.weatherservice.service.WeatherService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Periodically reads every subscribed tile through {@link WeatherService}. Cache hits are cheap and
+ * change nothing; once an entry has expired the read refreshes it from the upstream API, which in
+ * turn publishes the new data to the tile's subscribers.
+ */
+@Slf4j
+@Component
+public class WeatherUpdateRefresher {
+  private static final int REFRESH_CONCURRENCY = 8;
+  private final WeatherUpdateRegistry updateRegistry;
+  private final WeatherService weatherService;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  public WeatherUpdateRefresher(
+      WeatherUpdateRegistry updateRegistry, WeatherService weatherService) {
+    this.updateRegistry = updateRegistry;
+    this.weatherService = weatherService;
+  }
+
+  @Scheduled(fixedDelayString = "${weather.stream.refresh-interval-ms:60000}")
+  public void refreshActiveTiles() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    Flux.fromIterable(updateRegistry.activeTiles())
+        .flatMap(
+            tile ->
+                weatherService
+                    .getWeatherData(tile.getLatitude(), tile.getLongitude())
+                    .onErrorResume(
+                        error -> {
+                          log.warn(
+                              "Failed to refresh subscribed tile {}: {}",
+                              tile.getId(),
+                              error.getMessage());
+                          return Mono.empty();
+                        }),
+            REFRESH_CONCURRENCY)
+        .doFinally(signal -> refreshing.set(false))
+        .subscribe();
+  }
+}
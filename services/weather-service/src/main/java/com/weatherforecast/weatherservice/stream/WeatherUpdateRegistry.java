@@ -0,0 +1,36 @@
+package com.weatherforecast.weatherservice.stream;
+
+import com.weatherforecast.weatherservice.domain.Tile;
+import com.weatherforecast.weatherservice.domain.WeatherData;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+
+/**
+ * Registry of live weather subscriptions, indexed by {@link Tile}. Refreshed weather data is
+ * published once per tile and fanned out to every subscriber of that tile.
+ */
+public interface WeatherUpdateRegistry {
+
+  /**
+   * Subscribes to refreshes of a single tile. Slow subscribers only ever see the most recent data
+   * for the tile; intermediate refreshes are conflated rather than buffered.
+   *
+   * @param tile the tile to watch
+   * @return a Flux emitting the weather data each time the tile is refreshed
+   */
+  Flux<WeatherData> subscribe(Tile tile);
+
+  /**
+   * Publishes freshly fetched weather data to the subscribers of its tile, if there are any.
+   *
+   * @param weatherData the refreshed weather data
+   */
+  void publish(WeatherData weatherData);
+
+  /**
+   * Returns the tiles that currently have at least one subscriber.
+   *
+   * @return a snapshot of the active tiles
+   */
+  Set<Tile> activeTiles();
+}
@@ -0,0 +1,85 @@
+package com.weatherforecast.weatherservice.stream.impl;
+
+import com.weatherforecast.weatherservice.domain.Tile;
+import com.weatherforecast.weatherservice.domain.WeatherData;
+import com.weatherforecast.weatherservice.stream.WeatherUpdateRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Keeps one multicast sink per subscribed tile. A refresh is looked up by tile and emitted once,
+ * and the sink hands it to every subscriber of that tile without touching unrelated tiles.
+ *
+ * <p>Each subscriber conflates to the latest value, so a slow gRPC stream never holds up the other
+ * subscribers of the same tile. Sinks are removed as soon as their last subscriber goes away.
+ */
+@Slf4j
+@Component
+public class TileIndexedWeatherUpdateRegistry implements WeatherUpdateRegistry {
+  private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+  private final ConcurrentMap<Tile, TileSubscriptions> subscriptions = new ConcurrentHashMap<>();
+
+  @Override
+  public Flux<WeatherData> subscribe(Tile tile) {
+    return Flux.defer(
+        () -> {
+          TileSubscriptions tileSubscriptions =
+              subscriptions.compute(
+                  tile,
+                  (key, existing) -> {
+                    TileSubscriptions current =
+                        existing != null ? existing : new TileSubscriptions();
+                    current.subscribers++;
+                    return current;
+                  });
+          return tileSubscriptions
+              .sink
+              .asFlux()
+              .onBackpressureLatest()
+              .doFinally(signal -> release(tile, tileSubscriptions));
+        });
+  }
+
+  @Override
+  public void publish(WeatherData weatherData) {
+    if (weatherData.getLatitude() == null || weatherData.getLongitude() == null) {
+      return;
+    }
+    TileSubscriptions tileSubscriptions =
+        subscriptions.get(Tile.of(weatherData.getLatitude(), weatherData.getLongitude()));
+    if (tileSubscriptions == null) {
+      return;
+    }
+    tileSubscriptions
+        .sink
+        .emitNext(weatherData, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+  }
+
+  @Override
+  public Set<Tile> activeTiles() {
+    return Set.copyOf(subscriptions.keySet());
+  }
+
+  private void release(Tile tile, TileSubscriptions tileSubscriptions) {
+    subscriptions.computeIfPresent(
+        tile,
+        (key, existing) -> {
+          if (existing != tileSubscriptions) {
+            return existing;
+          }
+          return --existing.subscribers == 0 ? null : existing;
+        });
+  }
+
+  /** Subscriber count is only read and written inside {@link ConcurrentMap#compute}. */
+  private static final class TileSubscriptions {
+    private final Sinks.Many<WeatherData> sink = Sinks.many().multicast().directBestEffort();
+    private int subscribers;
+  }
+}
@@ -0,0 +1,192 @@
+package com.weatherforecast.weatherservice.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.weatherservice.domain.Alert;
+import com.weatherforecast.weatherservice.domain.Forecast;
+import com.weatherforecast.weatherservice.domain.WeatherData;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class AdapterTest {
+  private static final long FETCHED_AT = 1_700_000_000_000L;
+
+  @Test
+  void shouldReturnEverythingWithoutAProjection() {
+    WeatherDataResponse response = Adapter.toGrpcResponse(weatherData(FETCHED_AT));
+
+    assertEquals("Clear sky", response.getDescription());
+    assertEquals(21.5, response.getTemperature(), 0.0);
+    assertEquals(8, response.getForecastCount());
+    assertEquals(1, response.getAlertsCount());
+  }
+
+  @Test
+  void shouldTrimTheForecastToTheRequestedDays() {
+    WeatherDataResponse response =
+        Adapter.toGrpcResponse(weatherData(FETCHED_AT), projection(true, 3, true), "v");
+
+    assertEquals(3, response.getForecastCount());
+    assertEquals("Day 0", response.getForecast(0).getDescription());
+    assertEquals("Day 2", response.getForecast(2).getDescription());
+  }
+
+  @Test
+  void shouldReturnTheWholeForecastWhenMoreDaysAreRequestedThanKnown() {
+    WeatherDataResponse response =
+        Adapter.toGrpcResponse(weatherData(FETCHED_AT), projection(true, 20, true), "v");
+
+    assertEquals(8, response.getForecastCount());
+  }
+
+  @Test
+  void shouldLeaveOutCurrentConditionsAndAlertsWhenNotRequested() {
+    WeatherDataResponse response =
+        Adapter.toGrpcResponse(weatherData(FETCHED_AT), projection(false, 0, false), "v");
+
+    assertEquals("", response.getDescription());
+    assertEquals(0.0, response.getTemperature(), 0.0);
+    assertEquals(0, response.getHumidity());
+    assertEquals(0, response.getForecastCount());
+    assertEquals(0, response.getAlertsCount());
+    assertEquals(51.5, response.getLatitude(), 0.0);
+    assertEquals("Europe/London", response.getTimezone());
+  }
+
+  @Test
+  void shouldReturnOnlyTheRequestedParts() {
+    WeatherDataResponse currentOnly =
+        Adapter.toGrpcResponse(weatherData(FETCHED_AT), projection(true, 0, false), "v");
+    WeatherDataResponse alertsOnly =
+        Adapter.toGrpcResponse(weatherData(FETCHED_AT), projection(false, 0, true), "v");
+
+    assertEquals("Clear sky", currentOnly.getDescription());
+    assertEquals(0, currentOnly.getAlertsCount());
+    assertEquals("", alertsOnly.getDescription());
+    assertEquals("Storm", alertsOnly.getAlerts(0).getName());
+  }
+
+  @Test
+  void shouldKeepTheVersionForIdenticalData() {
+    WeatherProjection projection = projection(true, 3, false);
+
+    assertEquals(
+        Adapter.toVersion(weatherData(FETCHED_AT), projection),
+        Adapter.toVersion(weatherData(FETCHED_AT), projection));
+    assertEquals(
+        Adapter.toVersion(weatherData(FETCHED_AT), null),
+        Adapter.toVersion(weatherData(FETCHED_AT), null));
+  }
+
+  @Test
+  void shouldChangeTheVersionWhenTheDataIsRefetched() {
+    assertNotEquals(
+        Adapter.toVersion(weatherData(FETCHED_AT), null),
+        Adapter.toVersion(weatherData(FETCHED_AT + 1), null));
+  }
+
+  @Test
+  void shouldChangeTheVersionWithTheProjection() {
+    WeatherData weatherData = weatherData(FETCHED_AT);
+    String everything = Adapter.toVersion(weatherData, null);
+    String threeDays = Adapter.toVersion(weatherData, projection(true, 3, true));
+
+    assertNotEquals(everything, threeDays);
+    assertNotEquals(threeDays, Adapter.toVersion(weatherData, projection(true, 4, true)));
+    assertNotEquals(threeDays, Adapter.toVersion(weatherData, projection(false, 3, true)));
+    assertNotEquals(threeDays, Adapter.toVersion(weatherData, projection(true, 3, false)));
+  }
+
+  @Test
+  void shouldCarryTheFetchTime() {
+    assertEquals(FETCHED_AT, Adapter.toGrpcResponse(weatherData(FETCHED_AT)).getFetchedAt());
+    assertEquals(0, Adapter.toGrpcResponse(weatherData(null)).getFetchedAt());
+  }
+
+  @Test
+  void shouldHaveNoVersionWithoutAFetchTime() {
+    assertEquals("", Adapter.toVersion(weatherData(null), null));
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenTheCallerHoldsTheCurrentVersion() {
+    WeatherData weatherData = weatherData(FETCHED_AT);
+    WeatherProjection projection = projection(true, 3, true);
+    String version = Adapter.toVersion(weatherData, projection);
+
+    WeatherDataResponse response = Adapter.toConditionalResponse(weatherData, projection, version);
+
+    assertTrue(response.getNotModified());
+    assertEquals(version, response.getVersion());
+    assertEquals("", response.getDescription());
+    assertEquals(0, response.getForecastCount());
+  }
+
+  @Test
+  void shouldReturnTheDataWhenTheCallerHoldsAnOlderVersion() {
+    WeatherData weatherData = weatherData(FETCHED_AT);
+    String olderVersion = Adapter.toVersion(weatherData(FETCHED_AT - 1), null);
+
+    WeatherDataResponse response = Adapter.toConditionalResponse(weatherData, null, olderVersion);
+
+    assertFalse(response.getNotModified());
+    assertEquals(Adapter.toVersion(weatherData, null), response.getVersion());
+    assertEquals("Clear sky", response.getDescription());
+  }
+
+  @Test
+  void shouldAlwaysReturnTheDataWhenThereIsNoVersion() {
+    WeatherDataResponse response = Adapter.toConditionalResponse(weatherData(null), null, "");
+
+    assertFalse(response.getNotModified());
+    assertEquals("Clear sky", response.getDescription());
+  }
+
+  private static WeatherProjection projection(boolean current, int forecastDays, boolean alerts) {
+    return WeatherProjection.newBuilder()
+        .setCurrent(current)
+        .setForecastDays(forecastDays)
+        .setAlerts(alerts)
+        .build();
+  }
+
+  private static WeatherData weatherData(Long fetchedAt) {
+    List<Forecast> forecast =
+        IntStream.range(0, 8)
+            .mapToObj(
+                day ->
+                    Forecast.builder()
+                        .description("Day " + day)
+                        .temperature(20.0 + day)
+                        .feelsLike(19.0 + day)
+                        .pressure(1012.0)
+                        .humidity(60)
+                        .windSpeed(3.5)
+                        .build())
+            .collect(Collectors.toList());
+    return WeatherData.builder()
+        .latitude(51.5)
+        .longitude(-0.12)
+        .timezone("Europe/London")
+        .timezoneOffset("0")
+        .description("Clear sky")
+        .temperature(21.5)
+        .feelsLike(21.0)
+        .pressure(1013.0)
+        .humidity(55)
+        .windSpeed(4.1)
+        .fetchedAt(fetchedAt)
+        .forecast(forecast)
+        .alerts(
+            List.of(
+                Alert.builder()
+                    .name("Storm")
+                    .description("Strong winds")
+                    .startTime("1700000000")
+                    .endTime("1700003600")
+                    .build()))
+        .build();
+  }
+}
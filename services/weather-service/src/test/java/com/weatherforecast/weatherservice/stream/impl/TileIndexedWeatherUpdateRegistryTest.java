@@ -0,0 +1,79 @@
+package com.weatherforecast.weatherservice.stream.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.weatherforecast.weatherservice.domain.Tile;
+import com.weatherforecast.weatherservice.domain.WeatherData;
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+public class TileIndexedWeatherUpdateRegistryTest {
+  private TileIndexedWeatherUpdateRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new TileIndexedWeatherUpdateRegistry();
+  }
+
+  @Test
+  void shouldDeliverPublishedDataToSubscribersOfTheSameTile() {
+    WeatherData weatherData = createSampleWeatherData(12.34, 45.67);
+
+    StepVerifier.create(registry.subscribe(Tile.of(12.34, 45.67)))
+        .then(() -> registry.publish(weatherData))
+        .expectNext(weatherData)
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void shouldNotDeliverDataForOtherTiles() {
+    StepVerifier.create(registry.subscribe(Tile.of(12.34, 45.67)))
+        .then(() -> registry.publish(createSampleWeatherData(1.0, 2.0)))
+        .expectNoEvent(Duration.ofMillis(50))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void shouldTrackActiveTilesUntilLastSubscriberLeaves() {
+    Tile tile = Tile.of(12.34, 45.67);
+
+    var first = registry.subscribe(tile).subscribe();
+    var second = registry.subscribe(tile).subscribe();
+    assertEquals(Set.of(tile), registry.activeTiles());
+
+    first.dispose();
+    assertEquals(Set.of(tile), registry.activeTiles());
+
+    second.dispose();
+    assertTrue(registry.activeTiles().isEmpty());
+  }
+
+  @Test
+  void shouldParseTileIdsAtCacheGranularity() {
+    Tile tile = Tile.parse("12.34561:45.67");
+
+    assertEquals(Tile.of(12.3456, 45.67), tile);
+    assertEquals("12.3456:45.6700", tile.getId());
+    assertThrows(IllegalArgumentException.class, () -> Tile.parse("12.34"));
+  }
+
+  private WeatherData createSampleWeatherData(double latitude, double longitude) {
+    return WeatherData.builder()
+        .latitude(latitude)
+        .longitude(longitude)
+        .timezone("America/Los_Angeles")
+        .timezoneOffset("-08:00")
+        .description("Clear sky")
+        .temperature(20.0)
+        .feelsLike(19.0)
+        .pressure(1013.0)
+        .humidity(50)
+        .windSpeed(5.0)
+        .build();
+  }
+}